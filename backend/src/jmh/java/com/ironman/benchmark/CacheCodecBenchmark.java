@@ -0,0 +1,139 @@
+package com.ironman.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ironman.cache.CacheCodec;
+import com.ironman.cache.CompressingCacheCodec;
+import com.ironman.cache.SmileCacheCodec;
+import com.ironman.model.LaundryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode time of the "services" catalog list for the previous default-typed JSON serializer
+ * and the Smile codec CacheConfig now registers (with and without the compression wrapper).
+ * encode also reports the payload size as the payloadBytes secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class CacheCodecBenchmark {
+
+    @Param({"json-typed", "smile", "smile-deflate"})
+    public String codec;
+
+    @Param({"20", "200"})
+    public int items;
+
+    private CacheCodec cacheCodec;
+    private List<LaundryService> services;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper smileMapper = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        SmileCacheCodec smile = new SmileCacheCodec(smileMapper,
+                smileMapper.getTypeFactory().constructCollectionType(List.class, LaundryService.class));
+
+        cacheCodec = switch (codec) {
+            case "json-typed" -> legacyJson();
+            case "smile" -> smile;
+            // Threshold as in app.cache.codec.compress-threshold-bytes
+            case "smile-deflate" -> new CompressingCacheCodec(smile, 1024);
+            default -> throw new IllegalArgumentException(codec);
+        };
+
+        services = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            LaundryService service = new LaundryService();
+            service.setId((long) i + 1);
+            service.setName("Steam Iron " + i);
+            service.setCategory(i % 3 == 0 ? "IRONING" : i % 3 == 1 ? "WASH_AND_IRON" : "DRY_CLEANING");
+            service.setBasePrice(BigDecimal.valueOf(1500 + i * 25L, 2));
+            service.setDescription("Crisp professional pressing for everyday garments, returned on hangers.");
+            service.setEstimatedHours(24 + i % 48);
+            service.setIconUrl("https://cdn.ironman.example/icons/service-" + i + ".png");
+            service.setIsActive(i % 10 != 0);
+            service.setCreatedAt(LocalDateTime.of(2026, 1, 1, 9, 0).plusMinutes(i));
+            service.setUpdatedAt(LocalDateTime.of(2026, 2, 1, 9, 0).plusMinutes(i));
+            services.add(service);
+        }
+
+        encoded = cacheCodec.encode(services);
+    }
+
+    /**
+     * Size of the last encoded payload; lands next to the timings in the JMH results
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize size) throws Exception {
+        byte[] bytes = cacheCodec.encode(services);
+        size.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return cacheCodec.decode(encoded);
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    // CacheConfig's default serializer, which every cache used before the codecs
+    private static CacheCodec legacyJson() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder()
+                        .allowIfBaseType(Object.class)
+                        .build(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY
+        );
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+
+        return new CacheCodec() {
+            @Override
+            public byte[] encode(Object value) {
+                return serializer.serialize(value);
+            }
+
+            @Override
+            public Object decode(byte[] bytes) {
+                return serializer.deserialize(bytes);
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.ironman.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password checks per second on one thread, i.e. logins per second per core for each encoding
+ * offered by SecurityConfig. The credential pool runs one thread per core, so an instance tops out
+ * at roughly cores x this figure before shedding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "Ironman@2026";
+
+    @Param({"bcrypt-10", "bcrypt-12", "argon2"})
+    public String encoding;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = switch (encoding) {
+            case "bcrypt-10" -> new BCryptPasswordEncoder(10);
+            case "bcrypt-12" -> new BCryptPasswordEncoder(12);
+            case "argon2" -> Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+            default -> throw new IllegalArgumentException(encoding);
+        };
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,95 @@
+package com.ironman.benchmark;
+
+import com.ironman.config.RazorpayConfig;
+import com.ironman.security.PaymentSignatureVerifier;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout and webhook signature checks: PaymentSignatureVerifier against the previous
+ * per-call Mac.getInstance / String.format implementation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class PaymentSignatureBenchmark {
+
+    private static final String KEY_SECRET = "rzp_test_key_secret_0123456789";
+    private static final String WEBHOOK_SECRET = "rzp_test_webhook_secret_0123456789";
+    private static final String ORDER_ID = "order_NkLm3qZ8xYt2Vb";
+    private static final String PAYMENT_ID = "pay_NkLm9RtY4uWq1c";
+
+    private PaymentSignatureVerifier verifier;
+    private String checkoutSignature;
+    private String webhookPayload;
+    private String webhookSignature;
+
+    @Setup
+    public void setUp() throws Exception {
+        verifier = new PaymentSignatureVerifier(new RazorpayConfig() {
+            @Override
+            public String getKeySecret() {
+                return KEY_SECRET;
+            }
+
+            @Override
+            public String getWebhookSecret() {
+                return WEBHOOK_SECRET;
+            }
+        });
+
+        // Typical payment.captured body
+        StringBuilder body = new StringBuilder("{\"entity\":\"event\",\"event\":\"payment.captured\",\"payload\":{");
+        body.append("\"payment\":{\"entity\":{\"id\":\"").append(PAYMENT_ID).append("\",\"order_id\":\"")
+                .append(ORDER_ID).append("\",\"amount\":15000,\"currency\":\"INR\",\"status\":\"captured\",")
+                .append("\"method\":\"upi\",\"notes\":{\"orderNumber\":\"IM-2026-000123\"}}}},")
+                .append("\"created_at\":1767225600}");
+        webhookPayload = body.toString();
+
+        checkoutSignature = legacyHmac(ORDER_ID + "|" + PAYMENT_ID, KEY_SECRET);
+        webhookSignature = legacyHmac(webhookPayload, WEBHOOK_SECRET);
+    }
+
+    @Benchmark
+    public boolean checkoutLegacy() throws Exception {
+        return legacyHmac(ORDER_ID + "|" + PAYMENT_ID, KEY_SECRET).equals(checkoutSignature);
+    }
+
+    @Benchmark
+    public boolean checkoutVerifier() {
+        return verifier.verifyPaymentSignature(ORDER_ID, PAYMENT_ID, checkoutSignature);
+    }
+
+    @Benchmark
+    public boolean webhookLegacy() throws Exception {
+        return legacyHmac(webhookPayload, WEBHOOK_SECRET).equals(webhookSignature);
+    }
+
+    @Benchmark
+    public boolean webhookVerifier() {
+        return verifier.verifyWebhookSignature(webhookPayload, webhookSignature);
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    // PaymentSignatureVerifier.hmacSha256 before the verifier cached its Mac instances
+    private static String legacyHmac(String data, String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] hash = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : hash) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.ironman.benchmark;
+
+import com.ironman.util.XssSanitizer;
+import org.apache.commons.text.StringEscapeUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sanitisation cost of one typical request (headers and parameters read by the app):
+ * XssSanitizer against the previous escapeHtml4 + replaceAll chain
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class XssSanitizerBenchmark {
+
+    /**
+     * clean: ordinary API traffic; dirty: one parameter carries markup
+     */
+    @Param({"clean", "dirty"})
+    public String request;
+
+    private String[] values;
+
+    @Setup
+    public void setUp() {
+        String jwt = "Bearer eyJhbGciOiJIUzUxMiJ9.eyJzdWIiOiI5ODc2NTQzMjEwIiwidWlkIjo0Miwicm9sZSI6IkNVU1RPTUVSIiwiaWF0"
+                + "IjoxNzY3MjI1NjAwLCJleHAiOjE3NjczMTIwMDB9.Q2xhc3NpY0xvbmdTaWduYXR1cmVWYWx1ZUZvckJlbmNobWFya2luZ09ubHk";
+        String note = "dirty".equals(request)
+                ? "<script>alert(1)</script> please ring twice"
+                : "Please ring twice, leave with the security desk";
+        values = new String[]{
+                jwt,
+                "application/json",
+                "Mozilla/5.0 (Linux; Android 14; Pixel 8) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/126.0 Mobile",
+                "en-IN,en;q=0.9",
+                "42",
+                "MORNING",
+                "2026-03-14",
+                note
+        };
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(legacyClean(value));
+        }
+    }
+
+    @Benchmark
+    public void sanitizer(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(XssSanitizer.clean(value));
+        }
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    // XssFilter.cleanXSS before XssSanitizer
+    private static String legacyClean(String value) {
+        if (value == null) {
+            return null;
+        }
+        value = StringEscapeUtils.escapeHtml4(value);
+        value = value.replaceAll("<script>(.*?)</script>", "");
+        value = value.replaceAll("</script>", "");
+        value = value.replaceAll("<script(.*?)>", "");
+        value = value.replaceAll("eval\\((.*?)\\)", "");
+        value = value.replaceAll("expression\\((.*?)\\)", "");
+        value = value.replaceAll("javascript:", "");
+        value = value.replaceAll("vbscript:", "");
+        value = value.replaceAll("onload(.*?)=", "");
+        return value;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ironman.audit;
+
+import java.time.Instant;
+
+/**
+ * One security audit record. Fields that don't apply to an event type are null.
+ *
+ * @param principal phone number used to sign in, if known
+ * @param resource  endpoint, entity or rate limit rule the event is about
+ */
+public record AuditEvent(AuditEventType type,
+                         Instant occurredAt,
+                         Long userId,
+                         String principal,
+                         String ip,
+                         String action,
+                         String resource,
+                         String detail) {
+}
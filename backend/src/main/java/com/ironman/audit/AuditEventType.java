@@ -0,0 +1,10 @@
+package com.ironman.audit;
+
+public enum AuditEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    SUSPICIOUS_ACTIVITY,
+    UNAUTHORIZED_ACCESS,
+    DATA_MODIFICATION,
+    RATE_LIMIT_EXCEEDED
+}
@@ -0,0 +1,126 @@
+package com.ironman.audit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves audit events off the request thread. publish() is one lock-free ring offer;
+ * a single background thread drains the ring in batches into the configured AuditSink.
+ * When the ring is full the overflow policy decides: DROP counts and discards the event,
+ * LOG writes it straight to the application log on the caller's thread.
+ */
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    public enum OverflowPolicy {
+        DROP,
+        LOG
+    }
+
+    public record Stats(long published, long written, long dropped, long overflowLogged, long writeFailures,
+                        int queued, int capacity, OverflowPolicy overflowPolicy) {
+    }
+
+    private final AuditSink sink;
+    private final AuditRingBuffer ring;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long idleNanos;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder overflowLogged = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditLogWriter(AuditSink sink,
+                          @Value("${app.audit.buffer-size:8192}") int bufferSize,
+                          @Value("${app.audit.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                          @Value("${app.audit.batch-size:256}") int batchSize,
+                          @Value("${app.audit.idle-wait-ms:50}") long idleWaitMs) {
+        this.sink = sink;
+        this.ring = new AuditRingBuffer(bufferSize);
+        this.overflowPolicy = overflowPolicy;
+        this.batchSize = batchSize;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleWaitMs);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writerThread = new Thread(this::writeLoop, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    public void publish(AuditEvent event) {
+        published.increment();
+        if (ring.offer(event)) {
+            return;
+        }
+
+        if (overflowPolicy == OverflowPolicy.LOG) {
+            overflowLogged.increment();
+            log.warn("AUDIT (buffer full) {}", event);
+        } else {
+            dropped.increment();
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(published.sum(), written.sum(), dropped.sum(), overflowLogged.sum(), writeFailures.sum(),
+                ring.size(), ring.capacity(), overflowPolicy);
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private void writeLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (ring.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(idleNanos);
+                continue;
+            }
+            flush(batch);
+        }
+
+        // Drain what is left on shutdown
+        while (ring.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        try {
+            sink.write(batch);
+            written.add(batch.size());
+        } catch (Exception e) {
+            writeFailures.increment();
+            log.error("Failed to write {} audit events, logging them instead: {}", batch.size(), e.getMessage());
+            batch.forEach(event -> log.warn("AUDIT {}", event));
+        }
+        batch.clear();
+    }
+}
@@ -0,0 +1,11 @@
+package com.ironman.audit;
+
+import java.util.List;
+
+/**
+ * Durable destination for audit events, called only from the audit writer thread
+ */
+public interface AuditSink {
+
+    void write(List<AuditEvent> batch) throws Exception;
+}
@@ -0,0 +1,83 @@
+package com.ironman.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends audit events as JSON lines to audit-yyyy-MM-dd.jsonl (UTC day), rolling to a new file each day
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.sink", havingValue = "file", matchIfMissing = true)
+public class FileAuditSink implements AuditSink {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path directory;
+
+    private LocalDate currentDay;
+    private BufferedWriter writer;
+
+    public FileAuditSink(@Value("${app.audit.file.dir:./logs/audit}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) throws IOException {
+        for (AuditEvent event : batch) {
+            writerFor(LocalDate.ofInstant(event.occurredAt(), ZoneOffset.UTC))
+                    .write(objectMapper.writeValueAsString(toJson(event)));
+            writer.newLine();
+        }
+        writer.flush();
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private BufferedWriter writerFor(LocalDate day) throws IOException {
+        if (!day.equals(currentDay)) {
+            close();
+            Files.createDirectories(directory);
+            writer = Files.newBufferedWriter(directory.resolve("audit-" + day + ".jsonl"), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            currentDay = day;
+        }
+        return writer;
+    }
+
+    private Map<String, Object> toJson(AuditEvent event) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("type", event.type().name());
+        json.put("occurredAt", event.occurredAt().toString());
+        json.put("userId", event.userId());
+        json.put("principal", event.principal());
+        json.put("ip", event.ip());
+        json.put("action", event.action());
+        json.put("resource", event.resource());
+        json.put("detail", event.detail());
+        return json;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ironman.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Appends audit events to security_audit_log, one JDBC batch per drain.
+ * Opt-in: the table is not mapped by JPA, so V12__security_audit_log.sql must be applied first.
+ */
+@Component
+@ConditionalOnProperty(name = "app.audit.sink", havingValue = "jdbc")
+@RequiredArgsConstructor
+public class JdbcAuditSink implements AuditSink {
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO security_audit_log (event_type, occurred_at, user_id, principal, ip_address, " +
+                    "action, resource, detail) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT, batch, batch.size(), (ps, event) -> {
+            ps.setString(1, event.type().name());
+            ps.setTimestamp(2, Timestamp.from(event.occurredAt()));
+            ps.setObject(3, event.userId());
+            ps.setString(4, event.principal());
+            ps.setString(5, event.ip());
+            ps.setString(6, event.action());
+            ps.setString(7, event.resource());
+            ps.setString(8, event.detail());
+        });
+    }
+}
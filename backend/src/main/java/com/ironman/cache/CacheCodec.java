@@ -0,0 +1,11 @@
+package com.ironman.cache;
+
+/**
+ * Value encoding for one Redis cache
+ */
+public interface CacheCodec {
+
+    byte[] encode(Object value) throws Exception;
+
+    Object decode(byte[] bytes) throws Exception;
+}
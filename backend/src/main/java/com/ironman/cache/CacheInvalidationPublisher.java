@@ -0,0 +1,49 @@
+package com.ironman.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Broadcasts local-tier invalidations over Redis pub/sub.
+ * Message format: instanceId|cacheName|key, with an empty key meaning "clear the cache".
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+
+    public static final String CHANNEL = "cache:invalidate";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(instanceId + "|" + cacheName + "|" + key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(instanceId + "|" + cacheName + "|");
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    // A lost message only leaves a stale local copy until the local TTL expires
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (DataAccessException e) {
+            log.warn("Failed to broadcast cache invalidation {}: {}", message, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ironman.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Adapts a CacheCodec to the Redis cache value serializer
+ */
+public class CodecRedisSerializer implements RedisSerializer<Object> {
+
+    private final CacheCodec codec;
+
+    public CodecRedisSerializer(CacheCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return codec.encode(value);
+        } catch (Exception e) {
+            throw new SerializationException("Could not encode cache value", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return codec.decode(bytes);
+        } catch (Exception e) {
+            throw new SerializationException("Could not decode cache value", e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.ironman.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflates encoded values above a size threshold. The first byte says whether the rest is compressed,
+ * so small values pay one byte and no CPU.
+ */
+public class CompressingCacheCodec implements CacheCodec {
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
+    private final CacheCodec delegate;
+    private final int threshold;
+
+    public CompressingCacheCodec(CacheCodec delegate, int threshold) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws Exception {
+        byte[] encoded = delegate.encode(value);
+        if (encoded.length < threshold) {
+            return withHeader(RAW, encoded);
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(encoded);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length / 2 + 16);
+            out.write(DEFLATED);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes) throws Exception {
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty cache payload");
+        }
+        if (bytes[0] == RAW) {
+            byte[] body = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, body, 0, body.length);
+            return delegate.decode(body);
+        }
+        return delegate.decode(inflate(bytes));
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private byte[] withHeader(byte header, byte[] body) {
+        byte[] out = new byte[body.length + 1];
+        out[0] = header;
+        System.arraycopy(body, 0, out, 1, body.length);
+        return out;
+    }
+
+    private byte[] inflate(byte[] bytes) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, 1, bytes.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated cache payload");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
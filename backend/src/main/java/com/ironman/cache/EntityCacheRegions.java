@@ -0,0 +1,116 @@
+package com.ironman.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Eviction and statistics for the Hibernate second-level cache regions.
+ * Each instance has its own in-memory regions, so admin changes are broadcast
+ * (message format: instanceId|region) and every instance drops the region.
+ */
+@Component
+@Slf4j
+public class EntityCacheRegions implements MessageListener {
+
+    public static final String CHANNEL = "cache:evict-region";
+
+    public static final String SERVICES = "catalog.services";
+    public static final String CLOTH_TYPES = "catalog.clothTypes";
+    public static final String ADD_ONS = "catalog.addons";
+    public static final String COUPONS = "coupons";
+
+    public static final List<String> CATALOG = List.of(SERVICES, CLOTH_TYPES, ADD_ONS);
+
+    private final SessionFactory sessionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public record RegionStats(long hits, long misses, long puts, long elementsInMemory, double hitRatio) {
+    }
+
+    public EntityCacheRegions(EntityManagerFactory entityManagerFactory, StringRedisTemplate redisTemplate) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Drop a region on every instance, after the current transaction commits
+     */
+    public void evictEverywhere(String region) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAndPublish(region);
+                }
+            });
+        } else {
+            evictAndPublish(region);
+        }
+    }
+
+    /**
+     * Drop a region on this instance only. Cached query results go too, since they may point at its rows.
+     */
+    public void evictLocal(String region) {
+        sessionFactory.getCache().evictRegion(region);
+        sessionFactory.getCache().evictDefaultQueryRegion();
+        log.debug("Evicted second-level cache region {}", region);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 2);
+        if (parts.length < 2 || instanceId.equals(parts[0])) {
+            return;
+        }
+        evictLocal(parts[1]);
+    }
+
+    public Map<String, RegionStats> getStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, RegionStats> stats = new TreeMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(region);
+            if (regionStats == null) {
+                continue;
+            }
+            long hits = regionStats.getHitCount();
+            long misses = regionStats.getMissCount();
+            stats.put(region, new RegionStats(hits, misses, regionStats.getPutCount(),
+                    regionStats.getElementCountInMemory(),
+                    hits + misses == 0 ? 0 : (double) hits / (hits + misses)));
+        }
+        return stats;
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    // A lost message leaves other instances stale until the region TTL (hibernate-cache.conf) expires
+    private void evictAndPublish(String region) {
+        evictLocal(region);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, instanceId + "|" + region);
+        } catch (DataAccessException e) {
+            log.warn("Failed to broadcast eviction of region {}: {}", region, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.ironman.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Binary JSON (Smile) bound to one declared type: no class names in the payload,
+ * no polymorphic type resolution on read, and repeated property names are back-referenced.
+ */
+public class SmileCacheCodec implements CacheCodec {
+
+    private final ObjectMapper smileMapper;
+    private final JavaType type;
+
+    public SmileCacheCodec(ObjectMapper smileMapper, JavaType type) {
+        this.smileMapper = smileMapper;
+        this.type = type;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws Exception {
+        return smileMapper.writerFor(type).writeValueAsBytes(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) throws Exception {
+        return smileMapper.readerFor(type).readValue(bytes);
+    }
+}
@@ -0,0 +1,171 @@
+package com.ironman.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caffeine in front of a Redis cache. Reads try the local tier, then Redis (filling the local tier),
+ * then the loader. Writes go to both tiers; evictions, clears and puts that replace an entry are broadcast
+ * so other instances drop their local copies. Local keys are the string form of the key, matching how Redis stores them.
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationPublisher publisher;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public record Stats(long localHits, long remoteHits, long misses, double localHitRatio, double hitRatio,
+                        long localSize) {
+    }
+
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local, Cache remote,
+                        CacheInvalidationPublisher publisher) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(value);
+        }
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            remoteHits.increment();
+            local.put(localKey, wrapper.get());
+            return wrapper;
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Concurrent loads of one key on this instance are collapsed into one by the local tier
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return (T) value;
+        }
+
+        return (T) local.get(localKey, k -> {
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                remoteHits.increment();
+                return wrapper.get();
+            }
+
+            misses.increment();
+            try {
+                T loaded = valueLoader.call();
+                if (loaded != null) {
+                    remote.put(key, loaded);
+                }
+                return loaded;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        // A fill after a miss changes nothing other instances hold; only a replacement is broadcast
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        if (existing != null) {
+            remote.put(key, value);
+        }
+        local.put(localKey(key), value);
+        if (existing != null) {
+            publisher.publishEvict(name, localKey(key));
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        publisher.publishEvict(name, localKey(key));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        publisher.publishClear(name);
+    }
+
+    /**
+     * Drop local copies after another instance changed the entry
+     */
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    public Stats getStats() {
+        long localCount = localHits.sum();
+        long remoteCount = remoteHits.sum();
+        long missCount = misses.sum();
+        long total = localCount + remoteCount + missCount;
+        return new Stats(localCount, remoteCount, missCount,
+                total == 0 ? 0 : (double) localCount / total,
+                total == 0 ? 0 : (double) (localCount + remoteCount) / total,
+                local.estimatedSize());
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,99 @@
+package com.ironman.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps every cache of the Redis cache manager in a Caffeine near-cache and applies invalidations
+ * broadcast by other instances. Caches are transaction-aware: puts and evictions (and their broadcasts)
+ * happen after commit, so other instances never reload a value that is about to change.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    private final CacheManager remoteManager;
+    private final CacheInvalidationPublisher publisher;
+    private final Duration localTtl;
+    private final long localMaxSize;
+
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final Map<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager remoteManager, CacheInvalidationPublisher publisher,
+                               Duration localTtl, long localMaxSize) {
+        this.remoteManager = remoteManager;
+        this.publisher = publisher;
+        this.localTtl = localTtl;
+        this.localMaxSize = localMaxSize;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return decorated.computeIfAbsent(name, n -> {
+            Cache remote = remoteManager.getCache(n);
+            if (remote == null) {
+                return null;
+            }
+            TwoTierCache cache = new TwoTierCache(n, Caffeine.newBuilder()
+                    .expireAfterWrite(localTtl)
+                    .maximumSize(localMaxSize)
+                    .build(), remote, publisher);
+            caches.put(n, cache);
+            return new TransactionAwareCacheDecorator(cache);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteManager.getCacheNames();
+    }
+
+    /**
+     * Invalidation from another instance
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length < 3 || publisher.getInstanceId().equals(parts[0])) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts[2].isEmpty()) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[2]);
+        }
+    }
+
+    /**
+     * Drop this instance's local copy only, so the next read goes to Redis
+     */
+    public void evictLocal(String cacheName, Object key) {
+        TwoTierCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(String.valueOf(key));
+        }
+    }
+
+    public Map<String, TwoTierCache.Stats> getStats() {
+        Map<String, TwoTierCache.Stats> stats = new TreeMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.getStats()));
+        return stats;
+    }
+}
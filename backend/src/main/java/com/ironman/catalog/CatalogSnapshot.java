@@ -0,0 +1,77 @@
+package com.ironman.catalog;
+
+import com.ironman.model.AddOn;
+import com.ironman.model.ClothType;
+import com.ironman.model.LaundryService;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Immutable view of the public catalog with per-category indexes built once.
+ * Replaced as a whole on refresh, so readers never see a half-updated catalog.
+ */
+@Getter
+public class CatalogSnapshot {
+
+    private final long version;
+    private final String etag;
+    private final Instant loadedAt;
+    private final List<LaundryService> services;
+    private final List<ClothType> clothTypes;
+    private final List<AddOn> addOns;
+    private final Map<String, List<LaundryService>> activeServicesByCategory;
+    private final Map<String, List<ClothType>> activeClothTypesByCategory;
+
+    public CatalogSnapshot(long version, List<LaundryService> services, List<ClothType> clothTypes,
+                           List<AddOn> addOns) {
+        this.version = version;
+        this.loadedAt = Instant.now();
+        this.services = List.copyOf(services);
+        this.clothTypes = List.copyOf(clothTypes);
+        this.addOns = List.copyOf(addOns);
+        this.activeServicesByCategory = indexActive(this.services,
+                LaundryService::getCategory, LaundryService::getIsActive);
+        this.activeClothTypesByCategory = indexActive(this.clothTypes,
+                ClothType::getCategory, ClothType::getIsActive);
+        // Content checksum guards against two instances holding different data under one version
+        this.etag = "catalog-" + version + "-" + checksum(this.services, this.clothTypes, this.addOns);
+    }
+
+    public List<LaundryService> getServicesByCategory(String category) {
+        return activeServicesByCategory.getOrDefault(category, List.of());
+    }
+
+    public List<ClothType> getClothTypesByCategory(String category) {
+        return activeClothTypesByCategory.getOrDefault(category, List.of());
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private static <T> Map<String, List<T>> indexActive(List<T> items, Function<T, String> category,
+                                                        Function<T, Boolean> active) {
+        return items.stream()
+                .filter(item -> Boolean.TRUE.equals(active.apply(item)) && category.apply(item) != null)
+                .collect(Collectors.collectingAndThen(
+                        Collectors.groupingBy(category, Collectors.collectingAndThen(Collectors.toList(), List::copyOf)),
+                        Map::copyOf));
+    }
+
+    private static String checksum(List<?>... lists) {
+        CRC32 crc = new CRC32();
+        for (List<?> list : lists) {
+            for (Object item : list) {
+                crc.update(item.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return Long.toHexString(crc.getValue());
+    }
+}
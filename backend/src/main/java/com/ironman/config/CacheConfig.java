@@ -1,37 +1,101 @@
 package com.ironman.config;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import org.springframework.cache.CacheManager;
+import com.ironman.cache.CacheCodec;
+import com.ironman.cache.CacheInvalidationPublisher;
+import com.ironman.cache.CodecRedisSerializer;
+import com.ironman.cache.CompressingCacheCodec;
+import com.ironman.cache.EntityCacheRegions;
+import com.ironman.cache.SmileCacheCodec;
+import com.ironman.cache.TwoTierCacheManager;
+import com.ironman.model.AddOn;
+import com.ironman.model.ClothType;
+import com.ironman.model.LaundryService;
+import com.ironman.service.CustomerEligibilityService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    @Value("${app.cache.redis-ttl-minutes:10}")
+    private long redisTtlMinutes;
+
+    @Value("${app.cache.local.ttl-seconds:60}")
+    private long localTtlSeconds;
+
+    @Value("${app.cache.local.max-size:1000}")
+    private long localMaxSize;
+
+    @Value("${app.cache.codec.compress-threshold-bytes:1024}")
+    private int compressThresholdBytes;
+
+    // Bump when a binary cache's payload layout changes so old entries are ignored instead of misread
+    private static final String BINARY_KEY_VERSION = "v2";
+
     /**
-     * Redis Cache Manager (Primary) with LocalDateTime support
+     * Two-tier cache manager (Primary): Caffeine near-cache over Redis, kept coherent via pub/sub
      */
     @Bean
     @Primary
-    public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            StringRedisTemplate stringRedisTemplate) {
+        return new TwoTierCacheManager(
+                redisCacheManager(connectionFactory),
+                new CacheInvalidationPublisher(stringRedisTemplate),
+                Duration.ofSeconds(localTtlSeconds),
+                localMaxSize);
+    }
+
+    /**
+     * Delivers invalidations from other instances to the local tier and the Hibernate regions
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                   TwoTierCacheManager cacheManager,
+                                                                   EntityCacheRegions entityCacheRegions) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(CacheInvalidationPublisher.CHANNEL));
+        container.addMessageListener(entityCacheRegions, new ChannelTopic(EntityCacheRegions.CHANNEL));
+        return container;
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    /**
+     * Redis tier. Catalog caches use typed Smile codecs; anything else falls back to
+     * JSON with embedded type info. Not transaction-aware itself - the two-tier manager
+     * defers both tiers together.
+     */
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
         // Create ObjectMapper with Java 8 date/time support
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
@@ -47,7 +111,7 @@ public class CacheConfig {
         GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
 
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10)) // Cache for 10 minutes
+                .entryTtl(Duration.ofMinutes(redisTtlMinutes))
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())
                 )
@@ -56,26 +120,43 @@ public class CacheConfig {
                 )
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager manager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
-                .transactionAware()
+                .withInitialCacheConfigurations(binaryCacheConfigurations(config))
                 .build();
+        manager.afterPropertiesSet();
+        return manager;
     }
 
     /**
-     * Caffeine Cache Manager (Local fallback)
+     * Per-cache configurations for caches whose value type is known up front
      */
-    @Bean("caffeineCacheManager")
-    public CacheManager caffeineCacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-                "services", "clothTypes", "addons", "users", "partners"
-        );
+    private Map<String, RedisCacheConfiguration> binaryCacheConfigurations(RedisCacheConfiguration defaults) {
+        ObjectMapper smileMapper = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
 
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .expireAfterWrite(10, TimeUnit.MINUTES)
-                .maximumSize(1000)
-                .recordStats());
+        Map<String, JavaType> types = Map.of(
+                "services", listOf(smileMapper, LaundryService.class),
+                "clothTypes", listOf(smileMapper, ClothType.class),
+                "addons", listOf(smileMapper, AddOn.class),
+                CustomerEligibilityService.CACHE,
+                smileMapper.constructType(CustomerEligibilityService.CouponProfile.class));
+
+        Map<String, RedisCacheConfiguration> configurations = new HashMap<>();
+        types.forEach((name, type) -> {
+            CacheCodec codec = new CompressingCacheCodec(
+                    new SmileCacheCodec(smileMapper, type), compressThresholdBytes);
+            configurations.put(name, defaults
+                    .prefixCacheNameWith(BINARY_KEY_VERSION + ":")
+                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                            new CodecRedisSerializer(codec))));
+        });
+        return configurations;
+    }
 
-        return cacheManager;
+    private JavaType listOf(ObjectMapper mapper, Class<?> elementType) {
+        return mapper.getTypeFactory().constructCollectionType(List.class, elementType);
     }
-}
\ No newline at end of file
+}
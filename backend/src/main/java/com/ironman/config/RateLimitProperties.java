@@ -0,0 +1,55 @@
+package com.ironman.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limits under app.rate-limit. Routes are matched in order (Ant patterns), falling back to defaults.
+ * A limit of 0 means unlimited.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private Store store = Store.LOCAL;
+
+    // Local bucket store bounds
+    private long maxKeys = 100_000;
+    private long idleExpiryMinutes = 10;
+
+    // Only these peers may set X-Forwarded-For (exact addresses)
+    private List<String> trustedProxies = new ArrayList<>(List.of("127.0.0.1", "0:0:0:0:0:0:0:1"));
+
+    private Rule defaults = new Rule("default", "/**", 100, 300, 60);
+    private List<Rule> routes = new ArrayList<>();
+
+    public enum Store {
+        LOCAL,  // per instance
+        REDIS   // shared across instances
+    }
+
+    @Data
+    public static class Rule {
+        private String name;
+        private String pattern;
+        private long anonymousLimit;
+        private long authenticatedLimit;
+        private long periodSeconds = 60;
+
+        public Rule() {
+        }
+
+        public Rule(String name, String pattern, long anonymousLimit, long authenticatedLimit, long periodSeconds) {
+            this.name = name;
+            this.pattern = pattern;
+            this.anonymousLimit = anonymousLimit;
+            this.authenticatedLimit = authenticatedLimit;
+            this.periodSeconds = periodSeconds;
+        }
+    }
+}
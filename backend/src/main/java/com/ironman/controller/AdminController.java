@@ -2,8 +2,17 @@ package com.ironman.controller;
 
 import com.ironman.dto.response.ApiResponse;
 import com.ironman.dto.response.PartnerResponse;
+import com.ironman.audit.AuditLogWriter;
+import com.ironman.cache.EntityCacheRegions;
+import com.ironman.cache.TwoTierCache;
+import com.ironman.cache.TwoTierCacheManager;
+import com.ironman.ratelimit.RateLimitMetrics;
 import com.ironman.service.DeliveryPartnerService;
 import com.ironman.service.AdminService;
+import com.ironman.service.CatalogService;
+import com.ironman.catalog.CatalogSnapshot;
+import com.ironman.service.PaymentReconciliationService;
+import com.ironman.util.SecurityAuditLogger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +22,7 @@ import com.ironman.dto.response.*;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/admin")
@@ -22,6 +32,13 @@ public class AdminController {
 
     private final DeliveryPartnerService partnerService;
     private final AdminService adminService;
+    private final PaymentReconciliationService reconciliationService;
+    private final RateLimitMetrics rateLimitMetrics;
+    private final AuditLogWriter auditLogWriter;
+    private final TwoTierCacheManager cacheManager;
+    private final SecurityAuditLogger auditLogger;
+    private final CatalogService catalogService;
+    private final EntityCacheRegions entityCacheRegions;
     /**
      * Get all pending approval partners
      */
@@ -45,6 +62,7 @@ public class AdminController {
 
         log.info("Approving partner: {}", partnerId);
         PartnerResponse partner = partnerService.approvePartner(partnerId, notes);
+        auditLogger.logAdminAction("APPROVE_PARTNER", "partner:" + partnerId, notes);
 
         return ResponseEntity.ok(
                 ApiResponse.success("Partner approved successfully", partner));
@@ -60,6 +78,7 @@ public class AdminController {
 
         log.info("Rejecting partner: {}", partnerId);
         PartnerResponse partner = partnerService.rejectPartner(partnerId, reason);
+        auditLogger.logAdminAction("REJECT_PARTNER", "partner:" + partnerId, reason);
 
         return ResponseEntity.ok(
                 ApiResponse.success("Partner rejected", partner));
@@ -91,6 +110,109 @@ public class AdminController {
                 ApiResponse.success("Dashboard stats fetched successfully", stats));
     }
 
+    /**
+     * Progress of the current or last payment reconciliation run
+     */
+    @GetMapping("/payments/reconciliation")
+    public ResponseEntity<ApiResponse<ReconciliationStatsResponse>> getReconciliationStats() {
+
+        ReconciliationStatsResponse stats = reconciliationService.getStats();
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Reconciliation stats fetched successfully", stats));
+    }
+
+    /**
+     * Run payment reconciliation now instead of waiting for the schedule
+     */
+    @PostMapping("/payments/reconciliation/run")
+    public ResponseEntity<ApiResponse<ReconciliationStatsResponse>> runReconciliation() {
+
+        log.info("Manual payment reconciliation triggered");
+        ReconciliationStatsResponse stats = reconciliationService.reconcile();
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Reconciliation run completed", stats));
+    }
+
+    /**
+     * Allowed/rejected request counts per rate limit rule on this instance
+     */
+    @GetMapping("/rate-limit/stats")
+    public ResponseEntity<ApiResponse<Map<String, RateLimitMetrics.RuleStats>>> getRateLimitStats() {
+
+        Map<String, RateLimitMetrics.RuleStats> stats = rateLimitMetrics.snapshot();
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Rate limit stats fetched successfully", stats));
+    }
+
+    /**
+     * Audit pipeline counters: published, written, dropped on overflow, queue depth
+     */
+    @GetMapping("/audit/stats")
+    public ResponseEntity<ApiResponse<AuditLogWriter.Stats>> getAuditStats() {
+
+        AuditLogWriter.Stats stats = auditLogWriter.getStats();
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Audit stats fetched successfully", stats));
+    }
+
+    /**
+     * Hits per cache tier (local Caffeine, Redis) and misses on this instance
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse<Map<String, TwoTierCache.Stats>>> getCacheStats() {
+
+        Map<String, TwoTierCache.Stats> stats = cacheManager.getStats();
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Cache stats fetched successfully", stats));
+    }
+
+    /**
+     * Hibernate second-level cache hits, misses and size per region on this instance
+     */
+    @GetMapping("/cache/entity-stats")
+    public ResponseEntity<ApiResponse<Map<String, EntityCacheRegions.RegionStats>>> getEntityCacheStats() {
+
+        Map<String, EntityCacheRegions.RegionStats> stats = entityCacheRegions.getStats();
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Entity cache stats fetched successfully", stats));
+    }
+
+    /**
+     * Drop a second-level cache region on every instance (after out-of-band data changes)
+     */
+    @DeleteMapping("/cache/entity-regions/{region}")
+    public ResponseEntity<ApiResponse<Void>> evictEntityRegion(@PathVariable String region) {
+
+        log.info("Evicting entity cache region: {}", region);
+        entityCacheRegions.evictEverywhere(region);
+        auditLogger.logAdminAction("EVICT_CACHE_REGION", "region:" + region, null);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Cache region evicted", null));
+    }
+
+    /**
+     * Reload the catalog snapshot after catalog data changed; other instances follow within a version check
+     */
+    @PostMapping("/catalog/refresh")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> refreshCatalog() {
+
+        log.info("Refreshing catalog snapshot");
+        CatalogSnapshot snapshot = catalogService.refresh();
+        auditLogger.logAdminAction("REFRESH_CATALOG", "catalog:" + snapshot.getVersion(), null);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Catalog refreshed", Map.of(
+                        "version", snapshot.getVersion(),
+                        "etag", snapshot.getEtag())));
+    }
+
     /**
      * Get all orders with filters
      */
@@ -115,6 +237,7 @@ public class AdminController {
 
         log.info("Updating order {} status to {}", orderId, status);
         OrderResponse order = adminService.updateOrderStatus(orderId, status);
+        auditLogger.logAdminAction("UPDATE_ORDER_STATUS", "order:" + orderId, status);
 
         return ResponseEntity.ok(
                 ApiResponse.success("Order status updated successfully", order));
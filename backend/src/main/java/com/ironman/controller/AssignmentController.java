@@ -2,15 +2,19 @@ package com.ironman.controller;
 
 import com.ironman.dto.response.ApiResponse;
 import com.ironman.dto.response.AssignmentResponse;
+import com.ironman.dto.response.RoutePlanResponse;
 import com.ironman.security.UserDetailsImpl;
 import com.ironman.service.AssignmentService;
+import com.ironman.service.RoutePlanningService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,6 +24,7 @@ import java.util.List;
 public class AssignmentController {
 
     private final AssignmentService assignmentService;
+    private final RoutePlanningService routePlanningService;
 
     /**
      * Assign pickup to partner (Admin/System)
@@ -53,6 +58,22 @@ public class AssignmentController {
                 .body(ApiResponse.success("Delivery assigned successfully", assignment));
     }
 
+    /**
+     * Batch all pending pickups of a slot into multi-stop routes (Admin/System)
+     */
+    @PostMapping("/routes/plan")
+    public ResponseEntity<ApiResponse<RoutePlanResponse>> planPickupRoutes(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam String slot) {
+
+        log.info("Planning pickup routes - Date: {}, Slot: {}", date, slot);
+        RoutePlanResponse plan = routePlanningService.planPickupRoutes(date, slot.toUpperCase());
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Pickup routes planned successfully", plan));
+    }
+
     /**
      * Partner accepts assignment
      */
@@ -18,6 +18,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import com.ironman.exception.ResourceNotFoundException;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
@@ -28,25 +30,25 @@ public class AuthController {
     private final UserRepository userRepository;
 
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> register(
+            @Valid @RequestBody RegisterRequest request) {
         log.info("Registration request received for phone: {}", request.getPhone());
 
-        AuthResponse authResponse = authService.register(request);
-
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(ApiResponse.success("User registered successfully", authResponse));
+        return authService.register(request)
+                .thenApply(authResponse -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(ApiResponse.success("User registered successfully", authResponse)));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<ApiResponse<AuthResponse>>> login(
+            @Valid @RequestBody LoginRequest request) {
         log.info("Login request received for phone: {}", request.getPhone());
 
-        AuthResponse authResponse = authService.login(request);
-
-        return ResponseEntity.ok(
-                ApiResponse.success("Login successful", authResponse)
-        );
+        return authService.login(request)
+                .thenApply(authResponse -> ResponseEntity.ok(
+                        ApiResponse.success("Login successful", authResponse)
+                ));
     }
     /**
      * Get current user profile
@@ -1,5 +1,6 @@
 package com.ironman.controller;
 
+import com.ironman.catalog.CatalogSnapshot;
 import com.ironman.dto.response.ApiResponse;
 import com.ironman.model.AddOn;
 import com.ironman.model.ClothType;
@@ -7,11 +8,16 @@ import com.ironman.model.LaundryService;
 import com.ironman.service.CatalogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+/**
+ * Public catalog, served from the in-memory snapshot.
+ * Responses carry the snapshot ETag, so a matching If-None-Match gets a 304 from Spring.
+ */
 @RestController
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
@@ -26,14 +32,15 @@ public class CatalogController {
     public ResponseEntity<ApiResponse<List<LaundryService>>> getAllServices(
             @RequestParam(required = false) String category) {
 
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
         List<LaundryService> services;
         if (category != null && !category.isEmpty()) {
-            services = catalogService.getServicesByCategory(category);
+            services = snapshot.getServicesByCategory(category);
         } else {
-            services = catalogService.getAllServices();
+            services = snapshot.getServices();
         }
 
-        return ResponseEntity.ok(
+        return catalogResponse(snapshot,
                 ApiResponse.success("Services fetched successfully", services));
     }
 
@@ -43,14 +50,15 @@ public class CatalogController {
     public ResponseEntity<ApiResponse<List<ClothType>>> getAllClothTypes(
             @RequestParam(required = false) String category) {
 
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
         List<ClothType> clothTypes;
         if (category != null && !category.isEmpty()) {
-            clothTypes = catalogService.getClothTypesByCategory(category);
+            clothTypes = snapshot.getClothTypesByCategory(category);
         } else {
-            clothTypes = catalogService.getAllClothTypes();
+            clothTypes = snapshot.getClothTypes();
         }
 
-        return ResponseEntity.ok(
+        return catalogResponse(snapshot,
                 ApiResponse.success("Cloth types fetched successfully", clothTypes));
     }
 
@@ -59,9 +67,21 @@ public class CatalogController {
     @GetMapping("/add-ons")
     public ResponseEntity<ApiResponse<List<AddOn>>> getAllAddOns() {
 
-        List<AddOn> addOns = catalogService.getAllAddOns();
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
 
-        return ResponseEntity.ok(
-                ApiResponse.success("Add-ons fetched successfully", addOns));
+        return catalogResponse(snapshot,
+                ApiResponse.success("Add-ons fetched successfully", snapshot.getAddOns()));
     }
-}
\ No newline at end of file
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    // no-cache: clients may store the body but must revalidate, which costs a 304 at most
+    private <T> ResponseEntity<T> catalogResponse(CatalogSnapshot snapshot, T body) {
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+}
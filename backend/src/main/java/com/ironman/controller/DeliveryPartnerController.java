@@ -4,12 +4,15 @@ import com.ironman.dto.request.LocationUpdateRequest;
 import com.ironman.dto.request.PartnerRegistrationRequest;
 import com.ironman.dto.response.ApiResponse;
 import com.ironman.dto.response.LocationResponse;
+import com.ironman.dto.response.LocationTrackResponse;
 import com.ironman.dto.response.PartnerResponse;
 import com.ironman.security.UserDetailsImpl;
 import com.ironman.service.DeliveryPartnerService;
+import com.ironman.service.LocationTrackService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -24,6 +27,7 @@ import java.util.List;
 public class DeliveryPartnerController {
 
     private final DeliveryPartnerService partnerService;
+    private final LocationTrackService locationTrackService;
 
     /**
      * Register as a delivery partner
@@ -85,22 +89,41 @@ public class DeliveryPartnerController {
     }
 
     /**
-     * Get location history
+     * Get location history (compacted tracks of finished assignments)
      */
     @GetMapping("/location-history")
-    public ResponseEntity<ApiResponse<List<LocationResponse>>> getLocationHistory(
-            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+    public ResponseEntity<ApiResponse<Page<LocationTrackResponse>>> getLocationHistory(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
 
         log.info("Fetching location history for user: {}", currentUser.getId());
 
         // Get partner profile first to get partner ID
         PartnerResponse partner = partnerService.getPartnerProfile(currentUser.getId());
-        List<LocationResponse> history = partnerService.getLocationHistory(partner.getId());
+        Page<LocationTrackResponse> history = locationTrackService.getLocationHistory(partner.getId(), page, size);
 
         return ResponseEntity.ok(
                 ApiResponse.success("Location history fetched successfully", history));
     }
 
+    /**
+     * Get latest raw location points (full resolution, active assignments)
+     */
+    @GetMapping("/location-history/recent")
+    public ResponseEntity<ApiResponse<List<LocationResponse>>> getRecentLocations(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        log.info("Fetching recent locations for user: {}", currentUser.getId());
+
+        PartnerResponse partner = partnerService.getPartnerProfile(currentUser.getId());
+        List<LocationResponse> locations = locationTrackService.getRecentLocations(partner.getId(), limit);
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Recent locations fetched successfully", locations));
+    }
+
     /**
      * Get all available partners (for assignment)
      */
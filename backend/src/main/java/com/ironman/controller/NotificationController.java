@@ -2,7 +2,7 @@ package com.ironman.controller;
 
 import com.ironman.dto.request.FcmTokenRequest;
 import com.ironman.dto.response.ApiResponse;
-import com.ironman.dto.response.NotificationResponse;
+import com.ironman.dto.response.NotificationFeedResponse;
 import com.ironman.security.UserDetailsImpl;
 import com.ironman.service.NotificationService;
 import jakarta.validation.Valid;
@@ -12,7 +12,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -39,14 +38,17 @@ public class NotificationController {
     }
 
     /**
-     * Get all my notifications
+     * Get my notifications, newest first (cursor-paginated)
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<NotificationResponse>>> getMyNotifications(
-            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+    public ResponseEntity<ApiResponse<NotificationFeedResponse>> getMyNotifications(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
 
         log.info("Fetching notifications for user: {}", currentUser.getId());
-        List<NotificationResponse> notifications = notificationService.getUserNotifications(currentUser.getId());
+        NotificationFeedResponse notifications =
+                notificationService.getUserNotifications(currentUser.getId(), cursor, size);
 
         return ResponseEntity.ok(
                 ApiResponse.success("Notifications fetched successfully", notifications));
@@ -56,11 +58,14 @@ public class NotificationController {
      * Get unread notifications
      */
     @GetMapping("/unread")
-    public ResponseEntity<ApiResponse<List<NotificationResponse>>> getUnreadNotifications(
-            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+    public ResponseEntity<ApiResponse<NotificationFeedResponse>> getUnreadNotifications(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
 
         log.info("Fetching unread notifications for user: {}", currentUser.getId());
-        List<NotificationResponse> notifications = notificationService.getUnreadNotifications(currentUser.getId());
+        NotificationFeedResponse notifications =
+                notificationService.getUnreadNotifications(currentUser.getId(), cursor, size);
 
         return ResponseEntity.ok(
                 ApiResponse.success("Unread notifications fetched successfully", notifications));
@@ -73,7 +78,7 @@ public class NotificationController {
     public ResponseEntity<ApiResponse<Map<String, Long>>> getUnreadCount(
             @AuthenticationPrincipal UserDetailsImpl currentUser) {
 
-        log.info("Fetching unread count for user: {}", currentUser.getId());
+        log.debug("Fetching unread count for user: {}", currentUser.getId());
         long count = notificationService.getUnreadCount(currentUser.getId());
 
         return ResponseEntity.ok(
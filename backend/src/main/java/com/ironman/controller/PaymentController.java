@@ -16,6 +16,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/payments")
@@ -31,16 +32,17 @@ public class PaymentController {
      * Then initializes Razorpay checkout with that ID
      */
     @PostMapping("/create-order")
-    public ResponseEntity<ApiResponse<RazorpayOrderResponse>> createPaymentOrder(
+    public CompletableFuture<ResponseEntity<ApiResponse<RazorpayOrderResponse>>> createPaymentOrder(
             @AuthenticationPrincipal UserDetailsImpl currentUser,
             @Valid @RequestBody PaymentRequest request) {
 
         log.info("Creating payment order for user: {}", currentUser.getId());
-        RazorpayOrderResponse razorpayOrder = paymentService.createRazorpayOrder(request);
 
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Razorpay order created", razorpayOrder));
+        // Request thread is released while Razorpay responds
+        return paymentService.createRazorpayOrder(request)
+                .thenApply(razorpayOrder -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(ApiResponse.success("Razorpay order created", razorpayOrder)));
     }
 
     /**
@@ -68,13 +70,14 @@ public class PaymentController {
     @PostMapping("/webhook")
     public ResponseEntity<ApiResponse<String>> handleWebhook(
             @RequestBody String payload,
-            @RequestHeader("X-Razorpay-Signature") String signature) {
+            @RequestHeader("X-Razorpay-Signature") String signature,
+            @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
 
         log.info("Webhook received from Razorpay");
-        paymentService.handleWebhook(payload, signature);
+        paymentService.handleWebhook(payload, signature, eventId);
 
         return ResponseEntity.ok(
-                ApiResponse.success("Webhook processed successfully", null));
+                ApiResponse.success("Webhook accepted", null));
     }
 
     /**
@@ -8,6 +8,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SMS test endpoints.
+ * Sends are queued on the SmsDispatcher; the request thread is released while the provider responds.
+ */
 @RestController
 @RequestMapping("/api/v1/sms")
 @RequiredArgsConstructor
@@ -20,88 +26,80 @@ public class SmsController {
      * Test SMS - Simple text
      */
     @PostMapping("/test/simple")
-    public ResponseEntity<ApiResponse<SmsResponse>> sendTestSms(
+    public CompletableFuture<ResponseEntity<ApiResponse<SmsResponse>>> sendTestSms(
             @RequestParam String phoneNumber) {
 
         log.info("Sending test SMS to: {}", phoneNumber);
 
-        SmsResponse response = smsService.sendOtpSms(phoneNumber, "123456");
-
-        return ResponseEntity.ok(
-                ApiResponse.success("Test SMS sent successfully", response));
+        return smsService.sendOtpSms(phoneNumber, "123456")
+                .thenApply(response -> ResponseEntity.ok(
+                        ApiResponse.success("Test SMS sent successfully", response)));
     }
 
     /**
      * Test order confirmation SMS
      */
     @PostMapping("/test/order-confirmation")
-    public ResponseEntity<ApiResponse<SmsResponse>> sendOrderConfirmationSms(
+    public CompletableFuture<ResponseEntity<ApiResponse<SmsResponse>>> sendOrderConfirmationSms(
             @RequestParam String phoneNumber) {
 
         log.info("Sending order confirmation SMS to: {}", phoneNumber);
 
-        SmsResponse response = smsService.sendOrderConfirmationSms(
+        return smsService.sendOrderConfirmationSms(
                 phoneNumber,
                 "IM-2026-TEST-001",
                 "₹150.00"
-        );
-
-        return ResponseEntity.ok(
-                ApiResponse.success("Order confirmation SMS sent", response));
+        ).thenApply(response -> ResponseEntity.ok(
+                ApiResponse.success("Order confirmation SMS sent", response)));
     }
 
     /**
      * Test payment success SMS
      */
     @PostMapping("/test/payment-success")
-    public ResponseEntity<ApiResponse<SmsResponse>> sendPaymentSuccessSms(
+    public CompletableFuture<ResponseEntity<ApiResponse<SmsResponse>>> sendPaymentSuccessSms(
             @RequestParam String phoneNumber) {
 
         log.info("Sending payment success SMS to: {}", phoneNumber);
 
-        SmsResponse response = smsService.sendPaymentSuccessSms(
+        return smsService.sendPaymentSuccessSms(
                 phoneNumber,
                 "IM-2026-TEST-001",
                 "₹150.00"
-        );
-
-        return ResponseEntity.ok(
-                ApiResponse.success("Payment success SMS sent", response));
+        ).thenApply(response -> ResponseEntity.ok(
+                ApiResponse.success("Payment success SMS sent", response)));
     }
 
     /**
      * Test OTP SMS
      */
     @PostMapping("/test/otp")
-    public ResponseEntity<ApiResponse<SmsResponse>> sendOtpSms(
+    public CompletableFuture<ResponseEntity<ApiResponse<SmsResponse>>> sendOtpSms(
             @RequestParam String phoneNumber) {
 
         log.info("Sending OTP SMS to: {}", phoneNumber);
 
         String otp = String.valueOf((int) (Math.random() * 900000) + 100000);
-        SmsResponse response = smsService.sendOtpSms(phoneNumber, otp);
-
-        return ResponseEntity.ok(
-                ApiResponse.success("OTP SMS sent. OTP: " + otp, response));
+        return smsService.sendOtpSms(phoneNumber, otp)
+                .thenApply(response -> ResponseEntity.ok(
+                        ApiResponse.success("OTP SMS sent. OTP: " + otp, response)));
     }
 
     /**
      * Test order status SMS
      */
     @PostMapping("/test/status")
-    public ResponseEntity<ApiResponse<SmsResponse>> sendStatusSms(
+    public CompletableFuture<ResponseEntity<ApiResponse<SmsResponse>>> sendStatusSms(
             @RequestParam String phoneNumber,
             @RequestParam String status) {
 
         log.info("Sending status SMS: {}", status);
 
-        SmsResponse response = smsService.sendOrderStatusSms(
+        return smsService.sendOrderStatusSms(
                 phoneNumber,
                 "IM-2026-TEST-001",
                 status
-        );
-
-        return ResponseEntity.ok(
-                ApiResponse.success("Status SMS sent", response));
+        ).thenApply(response -> ResponseEntity.ok(
+                ApiResponse.success("Status SMS sent", response)));
     }
 }
\ No newline at end of file
@@ -27,5 +27,7 @@ public class AssignmentResponse {
     private LocalDateTime acceptedAt;
     private LocalDateTime completedAt;
     private String notes;
+    private String routeId;
+    private Integer routeSequence;
     private LocalDateTime createdAt;
 }
\ No newline at end of file
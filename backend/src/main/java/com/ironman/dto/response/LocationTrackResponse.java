@@ -0,0 +1,25 @@
+package com.ironman.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationTrackResponse {
+
+    private Long id;
+    private Long partnerId;
+    private Long assignmentId;
+    private String polyline; // Encoded polyline (1e-5 precision), decodable by map SDKs
+    private String timeOffsets; // Delta-encoded seconds from startedAt, same encoding
+    private Integer pointCount;
+    private Integer rawPointCount;
+    private LocalDateTime startedAt;
+    private LocalDateTime endedAt;
+}
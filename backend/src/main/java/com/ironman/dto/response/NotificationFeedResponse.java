@@ -0,0 +1,19 @@
+package com.ironman.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFeedResponse {
+
+    private List<NotificationResponse> notifications; // newest first
+    private String nextCursor; // pass back as ?cursor= for the next page, null on the last page
+    private boolean hasMore;
+}
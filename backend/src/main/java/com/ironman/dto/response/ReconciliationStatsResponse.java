@@ -0,0 +1,28 @@
+package com.ironman.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationStatsResponse {
+
+    private boolean running;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    // Progress of the current (or last finished) run
+    private long scanned;
+    private long markedPaid;
+    private long markedFailed;
+    private long stillPending;
+    private long unchanged;  // already moved on by checkout or a webhook
+    private long errors;
+    private Long lastPaymentId;
+}
@@ -0,0 +1,35 @@
+package com.ironman.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutePlanResponse {
+
+    private LocalDate pickupDate;
+    private String pickupSlot; // MORNING or EVENING
+    private int totalOrders;
+    private int totalRoutes;
+    private List<RouteInfo> routes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RouteInfo {
+        private String routeId;
+        private String zone;
+        private Long partnerId;
+        private String partnerName;
+        private Double totalDistanceKm;
+        private List<AssignmentResponse> stops; // in driving order
+    }
+}
@@ -1,5 +1,6 @@
 package com.ironman.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -13,6 +14,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class SmsResponse {
 
+    // Not known for a fresh send: the log row is written later in a batch
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private Long id;
     private String phoneNumber;
     private String message;
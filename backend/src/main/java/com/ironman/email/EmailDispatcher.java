@@ -0,0 +1,189 @@
+package com.ironman.email;
+
+import com.ironman.dto.request.EmailRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous email pipeline.
+ * Templates are rendered on a render pool (Thymeleaf keeps parsed templates cached), and a fixed set of
+ * sender threads drain the send queue in batches: each batch goes out over a single SMTP connection,
+ * so the number of senders bounds the number of open SMTP sessions.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailDispatcher {
+
+    private final JavaMailSender mailSender;
+    private final SpringTemplateEngine templateEngine;
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private BlockingQueue<PendingEmail> sendQueue;
+    private ThreadPoolExecutor renderers;
+    private ExecutorService senders;
+    private volatile boolean running;
+
+    @Value("${app.email.from}")
+    private String fromEmail;
+
+    @Value("${app.name}")
+    private String appName;
+
+    @Value("${app.email.dispatch.render-threads:2}")
+    private int renderThreads;
+
+    @Value("${app.email.dispatch.senders:2}")
+    private int senderThreads;
+
+    @Value("${app.email.dispatch.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.email.dispatch.queue-capacity:2000}")
+    private int queueCapacity;
+
+    private record PendingEmail(MimeMessage message, String to, CompletableFuture<Void> result) {
+    }
+
+    @PostConstruct
+    void start() {
+        sendQueue = new LinkedBlockingQueue<>(queueCapacity);
+        renderers = new ThreadPoolExecutor(renderThreads, renderThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("email-render-"));
+        senders = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("email-sender-"));
+
+        running = true;
+        for (int i = 0; i < senderThreads; i++) {
+            senders.execute(this::sendLoop);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        renderers.shutdown();
+        renderers.awaitTermination(10, TimeUnit.SECONDS);
+        running = false;
+        senders.shutdown();
+        senders.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Render and queue one email. The future completes once the SMTP server accepted it.
+     */
+    public CompletableFuture<Void> submit(EmailRequest request) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            renderers.execute(() -> renderAndQueue(request, result));
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new IllegalStateException("Email queue full"));
+        }
+        return result;
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private void renderAndQueue(EmailRequest request, CompletableFuture<Void> result) {
+        try {
+            MimeMessage message = render(request);
+            if (!sendQueue.offer(new PendingEmail(message, request.getTo(), result), 10, TimeUnit.SECONDS)) {
+                result.completeExceptionally(new IllegalStateException("Email send queue full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private MimeMessage render(EmailRequest request) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail);
+        helper.setTo(request.getTo());
+        helper.setSubject(request.getSubject());
+
+        // Process template with variables
+        Context context = new Context();
+        context.setVariables(request.getVariables());
+        context.setVariable("appName", appName);
+
+        helper.setText(templateEngine.process(request.getTemplateName(), context), true);
+        return message;
+    }
+
+    private void sendLoop() {
+        List<PendingEmail> batch = new ArrayList<>(batchSize);
+        while (running || !sendQueue.isEmpty()) {
+            try {
+                PendingEmail first = sendQueue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                sendQueue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * One send call per batch - JavaMailSender reuses a single connected Transport for all messages in it
+     */
+    private void sendBatch(List<PendingEmail> batch) {
+        MimeMessage[] messages = batch.stream().map(PendingEmail::message).toArray(MimeMessage[]::new);
+        try {
+            mailSender.send(messages);
+            batch.forEach(email -> email.result().complete(null));
+            sentCount.addAndGet(batch.size());
+            log.info("Sent batch of {} emails", batch.size());
+        } catch (MailSendException e) {
+            // Partial failure: only the listed messages failed
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (PendingEmail email : batch) {
+                Exception error = failed.get(email.message());
+                if (error == null && !failed.isEmpty()) {
+                    email.result().complete(null);
+                    sentCount.incrementAndGet();
+                } else {
+                    log.error("Error sending HTML email to {}: {}", email.to(),
+                            error != null ? error.getMessage() : e.getMessage());
+                    email.result().completeExceptionally(error != null ? error : e);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Email batch of {} failed: {}", batch.size(), e.getMessage());
+            batch.forEach(email -> email.result().completeExceptionally(e));
+        }
+    }
+}
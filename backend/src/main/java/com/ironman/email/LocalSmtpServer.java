@@ -0,0 +1,119 @@
+package com.ironman.email;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal in-process SMTP sink for local runs and email throughput benchmarks.
+ * Accepts every message and discards it, counting messages and connections.
+ * Enable with app.email.local-smtp.enabled=true and point spring.mail.host/port at it
+ * (with smtp auth and starttls turned off).
+ */
+@Component
+@ConditionalOnProperty(name = "app.email.local-smtp.enabled", havingValue = "true")
+@Slf4j
+public class LocalSmtpServer {
+
+    private final int port;
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong connections = new AtomicLong();
+    private final ExecutorService handlers = Executors.newCachedThreadPool(new CustomizableThreadFactory("local-smtp-"));
+    private ServerSocket serverSocket;
+
+    public LocalSmtpServer(@Value("${app.email.local-smtp.port:2525}") int port) {
+        this.port = port;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        handlers.execute(this::acceptLoop);
+        log.info("Local SMTP stand-in listening on port {}", port);
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        serverSocket.close();
+        handlers.shutdownNow();
+        log.info("Local SMTP stand-in received {} messages over {} connections", messages.get(), connections.get());
+    }
+
+    public long getMessageCount() {
+        return messages.get();
+    }
+
+    public long getConnectionCount() {
+        return connections.get();
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                handlers.execute(() -> handle(socket));
+            } catch (SocketException e) {
+                return; // closed
+            } catch (IOException e) {
+                log.warn("Local SMTP accept failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+
+            reply(out, "220 localhost ESMTP ready");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250 8BITMIME");
+                    case "HELO", "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // discard body
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 OK queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Local SMTP connection closed: {}", e.getMessage());
+        }
+    }
+
+    private void reply(Writer out, String response) throws IOException {
+        out.write(response);
+        out.write("\r\n");
+        out.flush();
+    }
+}
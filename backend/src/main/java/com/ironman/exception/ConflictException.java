@@ -0,0 +1,10 @@
+package com.ironman.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ConflictException extends CustomException {
+
+    public ConflictException(String message) {
+        super(message, HttpStatus.CONFLICT);
+    }
+}
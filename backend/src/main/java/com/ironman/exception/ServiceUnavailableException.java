@@ -0,0 +1,10 @@
+package com.ironman.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends CustomException {
+
+    public ServiceUnavailableException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -1,61 +1,89 @@
 package com.ironman.filter;
 
-import io.github.bucket4j.*;
+import com.ironman.config.RateLimitProperties;
+import com.ironman.ratelimit.RateLimitMetrics;
+import com.ironman.ratelimit.RateLimiter;
+import com.ironman.security.ClientIpResolver;
+import com.ironman.security.UserDetailsImpl;
+import com.ironman.util.SecurityAuditLogger;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Per-route, per-client rate limits. Runs after JWT authentication so signed-in users are limited
+ * by user id (across devices and IPs); anonymous callers are limited by client IP.
+ * OncePerRequestFilter also keeps the servlet-container registration of this bean from counting twice.
+ */
 @Component
-public class RateLimitFilter implements Filter {
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
 
-    private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final RateLimitMetrics metrics;
+    private final ClientIpResolver clientIpResolver;
+    private final SecurityAuditLogger auditLogger;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
     @Override
-    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
-            throws IOException, ServletException {
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
 
-        HttpServletRequest httpRequest = (HttpServletRequest) request;
-        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        RateLimitProperties.Rule rule = matchRule(request.getRequestURI());
+        Long userId = currentUserId();
+        long limit = userId != null ? rule.getAuthenticatedLimit() : rule.getAnonymousLimit();
+        if (limit <= 0) {
+            chain.doFilter(request, response);
+            return;
+        }
 
-        String key = getClientKey(httpRequest);
-        Bucket bucket = resolveBucket(key);
+        String clientIp = clientIpResolver.resolve(request);
+        String key = rule.getName() + ":" + (userId != null ? "user:" + userId : "ip:" + clientIp);
+        boolean allowed = rateLimiter.tryConsume(key, limit, Duration.ofSeconds(rule.getPeriodSeconds()));
+        metrics.record(rule.getName(), allowed);
 
-        if (bucket.tryConsume(1)) {
+        if (allowed) {
             chain.doFilter(request, response);
         } else {
-            httpResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            httpResponse.setContentType("application/json");
-            httpResponse.getWriter().write(
+            auditLogger.logRateLimitViolation(clientIp, userId, rule.getName(), request.getRequestURI());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(rule.getPeriodSeconds()));
+            response.setContentType("application/json");
+            response.getWriter().write(
                     "{\"success\": false, \"message\": \"Too many requests. Please try again later.\"}"
             );
         }
     }
 
-    private Bucket resolveBucket(String key) {
-        return cache.computeIfAbsent(key, k -> createNewBucket());
-    }
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
 
-    private Bucket createNewBucket() {
-        // 100 requests per minute per IP
-        Bandwidth limit = Bandwidth.classic(100, Refill.intervally(100, Duration.ofMinutes(1)));
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+    private RateLimitProperties.Rule matchRule(String path) {
+        for (RateLimitProperties.Rule rule : properties.getRoutes()) {
+            if (pathMatcher.match(rule.getPattern(), path)) {
+                return rule;
+            }
+        }
+        return properties.getDefaults();
     }
 
-    private String getClientKey(HttpServletRequest request) {
-        // Get client IP
-        String clientIp = request.getHeader("X-Forwarded-For");
-        if (clientIp == null || clientIp.isEmpty()) {
-            clientIp = request.getRemoteAddr();
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user) {
+            return user.getId();
         }
-        return clientIp;
+        return null;
     }
-}
\ No newline at end of file
+}
@@ -1,29 +1,65 @@
 package com.ironman.filter;
 
+import com.ironman.util.XssSanitizer;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
-import org.apache.commons.text.StringEscapeUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE + 1)
 public class XssFilter implements Filter {
 
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> skipPaths;
+    private final Set<String> skipHeaders;
+
+    public XssFilter(@Value("${app.xss.skip-paths:/api/v1/files/**,/api/v1/payments/webhook}") List<String> skipPaths,
+                     @Value("${app.xss.skip-headers:Authorization,Cookie,X-Razorpay-Signature,X-Razorpay-Event-Id}")
+                     List<String> skipHeaders) {
+        this.skipPaths = skipPaths;
+        this.skipHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        this.skipHeaders.addAll(skipHeaders);
+    }
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
-        chain.doFilter(new XssRequestWrapper((HttpServletRequest) request), response);
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+
+        // Binary downloads and signed raw bodies are passed through untouched
+        String path = httpRequest.getRequestURI();
+        for (String skipPath : skipPaths) {
+            if (pathMatcher.match(skipPath, path)) {
+                chain.doFilter(request, response);
+                return;
+            }
+        }
+
+        chain.doFilter(new XssRequestWrapper(httpRequest, skipHeaders), response);
     }
 
     private static class XssRequestWrapper extends HttpServletRequestWrapper {
 
-        public XssRequestWrapper(HttpServletRequest request) {
+        private final Set<String> skipHeaders;
+
+        // Each distinct raw value is sanitised once per request, however often it is read
+        private final Map<String, String> sanitized = new HashMap<>();
+
+        public XssRequestWrapper(HttpServletRequest request, Set<String> skipHeaders) {
             super(request);
+            this.skipHeaders = skipHeaders;
         }
 
         @Override
@@ -51,28 +87,14 @@ public class XssFilter implements Filter {
         @Override
         public String getHeader(String name) {
             String value = super.getHeader(name);
-            return cleanXSS(value);
+            return skipHeaders.contains(name) ? value : cleanXSS(value);
         }
 
         private String cleanXSS(String value) {
             if (value == null) {
                 return null;
             }
-
-            // Use Apache Commons Text for HTML escaping
-            value = StringEscapeUtils.escapeHtml4(value);
-
-            // Remove script tags
-            value = value.replaceAll("<script>(.*?)</script>", "");
-            value = value.replaceAll("</script>", "");
-            value = value.replaceAll("<script(.*?)>", "");
-            value = value.replaceAll("eval\\((.*?)\\)", "");
-            value = value.replaceAll("expression\\((.*?)\\)", "");
-            value = value.replaceAll("javascript:", "");
-            value = value.replaceAll("vbscript:", "");
-            value = value.replaceAll("onload(.*?)=", "");
-
-            return value;
+            return sanitized.computeIfAbsent(value, XssSanitizer::clean);
         }
     }
-}
\ No newline at end of file
+}
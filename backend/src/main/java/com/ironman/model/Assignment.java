@@ -47,6 +47,13 @@ public class Assignment {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    // Route batching - assignments planned together share a route id
+    @Column(name = "route_id", length = 50)
+    private String routeId;
+
+    @Column(name = "route_sequence")
+    private Integer routeSequence; // 1-based stop order within the route
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -54,4 +61,9 @@ public class Assignment {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Optimistic locking - bumped on every update, including conditional bulk updates
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
\ No newline at end of file
@@ -1,17 +1,25 @@
 package com.ironman.model;
 
+import com.ironman.cache.EntityCacheRegions;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.COUPONS)
 @Table(name = "coupons")
+// Usage counting writes only current_usage_count, never other columns from a cached copy
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
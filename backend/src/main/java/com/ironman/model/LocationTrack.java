@@ -0,0 +1,59 @@
+package com.ironman.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compacted GPS track of a finished assignment - one row replaces all of its location_tracking points
+ */
+@Entity
+@Table(name = "location_tracks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationTrack {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "partner_id", nullable = false)
+    private DeliveryPartner partner;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assignment_id", nullable = false, unique = true)
+    private Assignment assignment;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String polyline; // Encoded polyline, 1e-5 degree precision
+
+    @Column(name = "time_offsets", nullable = false, columnDefinition = "TEXT")
+    private String timeOffsets; // Delta-encoded seconds from startedAt, same encoding as polyline
+
+    @Column(name = "point_count", nullable = false)
+    private Integer pointCount;
+
+    @Column(name = "raw_point_count", nullable = false)
+    private Integer rawPointCount;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "ended_at", nullable = false)
+    private LocalDateTime endedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
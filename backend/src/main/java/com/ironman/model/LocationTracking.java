@@ -10,7 +10,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "location_tracking")
+@Table(name = "location_tracking") // Range-partitioned by month on recorded_at
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,6 +38,6 @@ public class LocationTracking {
     private BigDecimal accuracy;
 
     @CreationTimestamp
-    @Column(name = "recorded_at", updatable = false)
+    @Column(name = "recorded_at", nullable = false, updatable = false)
     private LocalDateTime recordedAt;
 }
\ No newline at end of file
@@ -45,6 +45,9 @@ public class Notification {
     @Column(name = "fcm_token")
     private String fcmToken;
 
+    @Column(name = "fcm_claimed_at")
+    private LocalDateTime fcmClaimedAt; // set while a push dispatcher owns this row
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -110,4 +110,9 @@ public class Order {
 
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
+
+    // Optimistic locking - bumped on every update, including conditional bulk updates
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
\ No newline at end of file
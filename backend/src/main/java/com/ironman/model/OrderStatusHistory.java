@@ -9,7 +9,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "order_status_history")
+@Table(name = "order_status_history") // Range-partitioned by month on changed_at
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,6 +38,6 @@ public class OrderStatusHistory {
     private String changedBy; // System, Admin, Partner name
 
     @CreationTimestamp
-    @Column(name = "changed_at", updatable = false)
+    @Column(name = "changed_at", nullable = false, updatable = false)
     private LocalDateTime changedAt;
 }
\ No newline at end of file
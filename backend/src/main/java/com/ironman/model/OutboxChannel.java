@@ -0,0 +1,7 @@
+package com.ironman.model;
+
+public enum OutboxChannel {
+    NOTIFICATION,
+    SMS,
+    EMAIL
+}
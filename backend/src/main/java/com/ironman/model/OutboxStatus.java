@@ -0,0 +1,8 @@
+package com.ironman.model;
+
+public enum OutboxStatus {
+    PENDING,
+    PROCESSING,
+    SENT,
+    DEAD
+}
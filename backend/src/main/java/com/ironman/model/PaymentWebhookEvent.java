@@ -0,0 +1,57 @@
+package com.ironman.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Raw Razorpay webhook delivery, stored before processing. event_id is unique, so redeliveries are dropped.
+ */
+@Entity
+@Table(name = "payment_webhook_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentWebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true, length = 100)
+    private String eventId; // X-Razorpay-Event-Id, or a hash of the body when absent
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType; // payment.captured, payment.failed, etc.
+
+    @Column(name = "razorpay_order_id", length = 100)
+    private String razorpayOrderId;
+
+    @Column(name = "razorpay_payment_id", length = 100)
+    private String razorpayPaymentId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WebhookEventStatus status = WebhookEventStatus.RECEIVED;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,9 @@
+package com.ironman.model;
+
+public enum WebhookEventStatus {
+    RECEIVED,
+    PROCESSING,
+    PROCESSED,
+    IGNORED,
+    FAILED
+}
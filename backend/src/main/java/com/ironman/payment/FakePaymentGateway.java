@@ -0,0 +1,41 @@
+package com.ironman.payment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory gateway for tests and local runs (app.payments.gateway=fake).
+ * Orders stay PENDING until a test sets their outcome with setStatus.
+ */
+@Component
+@ConditionalOnProperty(name = "app.payments.gateway", havingValue = "fake")
+@Slf4j
+public class FakePaymentGateway implements PaymentGateway {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, GatewayPaymentStatus> statuses = new ConcurrentHashMap<>();
+
+    @Override
+    public CompletableFuture<String> createOrder(int amountInPaise, String currency, String receipt,
+                                                 String description) {
+        String orderId = "order_fake" + sequence.incrementAndGet();
+        log.debug("[FAKE PAYMENT] created {} for {} ({} {})", orderId, receipt, amountInPaise, currency);
+        return CompletableFuture.completedFuture(orderId);
+    }
+
+    @Override
+    public CompletableFuture<GatewayPaymentStatus> fetchPaymentStatus(String gatewayOrderId) {
+        return CompletableFuture.completedFuture(
+                statuses.getOrDefault(gatewayOrderId, GatewayPaymentStatus.pending()));
+    }
+
+    public void setStatus(String gatewayOrderId, GatewayPaymentStatus status) {
+        statuses.put(gatewayOrderId, status);
+    }
+}
@@ -0,0 +1,28 @@
+package com.ironman.payment;
+
+/**
+ * Provider-side state of the payment attempts on one gateway order
+ *
+ * @param paymentId provider payment id of the attempt that decided the outcome, if any
+ * @param reason    failure description for FAILED
+ */
+public record GatewayPaymentStatus(Outcome outcome, String paymentId, String reason) {
+
+    public enum Outcome {
+        PAID,    // an attempt was captured
+        FAILED,  // every attempt failed
+        PENDING  // no attempt yet, or one still in progress
+    }
+
+    public static GatewayPaymentStatus paid(String paymentId) {
+        return new GatewayPaymentStatus(Outcome.PAID, paymentId, null);
+    }
+
+    public static GatewayPaymentStatus failed(String paymentId, String reason) {
+        return new GatewayPaymentStatus(Outcome.FAILED, paymentId, reason);
+    }
+
+    public static GatewayPaymentStatus pending() {
+        return new GatewayPaymentStatus(Outcome.PENDING, null, null);
+    }
+}
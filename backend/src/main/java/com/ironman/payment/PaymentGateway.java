@@ -0,0 +1,22 @@
+package com.ironman.payment;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Payment provider API used by checkout
+ */
+public interface PaymentGateway {
+
+    /**
+     * Create a provider-side order
+     *
+     * @return future completing with the provider order id; fails with ServiceUnavailableException
+     * when the provider is down and BadRequestException when it rejects the request
+     */
+    CompletableFuture<String> createOrder(int amountInPaise, String currency, String receipt, String description);
+
+    /**
+     * Look up the payment attempts made against a gateway order
+     */
+    CompletableFuture<GatewayPaymentStatus> fetchPaymentStatus(String gatewayOrderId);
+}
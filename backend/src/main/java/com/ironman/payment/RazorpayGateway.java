@@ -0,0 +1,157 @@
+package com.ironman.payment;
+
+import com.ironman.config.RazorpayConfig;
+import com.ironman.exception.BadRequestException;
+import com.ironman.exception.ServiceUnavailableException;
+import com.ironman.util.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Razorpay REST client on one shared HttpClient: HTTP/2 with keep-alive connection reuse,
+ * connect/request timeouts, non-blocking calls and a circuit breaker that fails fast during outages.
+ */
+@Component
+@ConditionalOnProperty(name = "app.payments.gateway", havingValue = "razorpay", matchIfMissing = true)
+@Slf4j
+public class RazorpayGateway implements PaymentGateway {
+
+    private final HttpClient httpClient;
+    private final CircuitBreaker circuitBreaker;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final String basicAuth;
+
+    public RazorpayGateway(RazorpayConfig razorpayConfig,
+                           @Value("${app.payments.razorpay.base-url:https://api.razorpay.com}") String baseUrl,
+                           @Value("${app.payments.razorpay.connect-timeout-ms:2000}") long connectTimeoutMs,
+                           @Value("${app.payments.razorpay.request-timeout-ms:5000}") long requestTimeoutMs,
+                           @Value("${app.payments.razorpay.breaker.failure-threshold:5}") int failureThreshold,
+                           @Value("${app.payments.razorpay.breaker.open-seconds:30}") long openSeconds) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        this.circuitBreaker = new CircuitBreaker("razorpay", failureThreshold, Duration.ofSeconds(openSeconds));
+
+        // Basic Auth: KeyId:KeySecret
+        String credentials = razorpayConfig.getKeyId() + ":" + razorpayConfig.getKeySecret();
+        this.basicAuth = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public CompletableFuture<String> createOrder(int amountInPaise, String currency, String receipt,
+                                                 String description) {
+        JSONObject body = new JSONObject();
+        body.put("amount", amountInPaise);
+        body.put("currency", currency);
+        body.put("receipt", receipt);
+        body.put("description", description);
+
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/orders"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())))
+                .thenApply(json -> json.getString("id"));
+    }
+
+    /**
+     * Captured attempt wins; otherwise FAILED only when every attempt failed.
+     * Authorized-but-uncaptured attempts stay PENDING until Razorpay auto-captures them.
+     */
+    @Override
+    public CompletableFuture<GatewayPaymentStatus> fetchPaymentStatus(String gatewayOrderId) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/v1/orders/" + gatewayOrderId + "/payments")).GET())
+                .thenApply(json -> {
+                    JSONArray items = json.optJSONArray("items");
+                    if (items == null || items.isEmpty()) {
+                        return GatewayPaymentStatus.pending();
+                    }
+
+                    JSONObject lastFailed = null;
+                    boolean inProgress = false;
+                    for (int i = 0; i < items.length(); i++) {
+                        JSONObject item = items.getJSONObject(i);
+                        String status = item.optString("status");
+                        if ("captured".equals(status)) {
+                            return GatewayPaymentStatus.paid(item.getString("id"));
+                        }
+                        if ("failed".equals(status)) {
+                            lastFailed = item;
+                        } else {
+                            inProgress = true;
+                        }
+                    }
+
+                    if (inProgress || lastFailed == null) {
+                        return GatewayPaymentStatus.pending();
+                    }
+                    return GatewayPaymentStatus.failed(lastFailed.getString("id"),
+                            lastFailed.optString("error_description", "Payment failed"));
+                });
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private CompletableFuture<JSONObject> send(HttpRequest.Builder builder) {
+        if (!circuitBreaker.allowRequest()) {
+            return CompletableFuture.failedFuture(
+                    new ServiceUnavailableException("Payment gateway temporarily unavailable, please retry shortly"));
+        }
+
+        HttpRequest request = builder
+                .timeout(requestTimeout)
+                .header("Authorization", basicAuth)
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        circuitBreaker.recordFailure();
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        log.error("Razorpay call {} failed: {}", request.uri().getPath(), cause.toString());
+                        throw new ServiceUnavailableException("Payment gateway unreachable, please retry shortly");
+                    }
+
+                    int status = response.statusCode();
+                    if (status >= 500 || status == 429) {
+                        circuitBreaker.recordFailure();
+                        log.error("Razorpay API error: {} - {}", status, response.body());
+                        throw new ServiceUnavailableException("Payment gateway unavailable, please retry shortly");
+                    }
+
+                    circuitBreaker.recordSuccess();
+                    if (status < 200 || status >= 300) {
+                        log.error("Razorpay API error: {} - {}", status, response.body());
+                        throw new BadRequestException("Razorpay API error: " + response.body());
+                    }
+
+                    try {
+                        return new JSONObject(response.body());
+                    } catch (JSONException e) {
+                        throw new BadRequestException("Unexpected Razorpay response: " + e.getMessage());
+                    }
+                });
+    }
+}
@@ -0,0 +1,141 @@
+package com.ironman.payment;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the Razorpay orders API, for local runs and checkout load tests.
+ * Answers POST /v1/orders and GET /v1/orders/{id}/payments after a configurable latency,
+ * failing a configurable share of calls with 503. Every order reports one attempt in stub.payment-status.
+ * Enable with app.payments.razorpay.stub.enabled=true and point app.payments.razorpay.base-url at it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.payments.razorpay.stub.enabled", havingValue = "true")
+@Slf4j
+public class RazorpayStubServer {
+
+    private final int port;
+    private final long latencyMs;
+    private final double failureRate;
+    private final String paymentStatus;
+    private final AtomicLong requests = new AtomicLong();
+    private final ExecutorService handlers = Executors.newCachedThreadPool(new CustomizableThreadFactory("razorpay-stub-"));
+    private HttpServer server;
+
+    public RazorpayStubServer(@Value("${app.payments.razorpay.stub.port:8099}") int port,
+                              @Value("${app.payments.razorpay.stub.latency-ms:150}") long latencyMs,
+                              @Value("${app.payments.razorpay.stub.failure-rate:0}") double failureRate,
+                              @Value("${app.payments.razorpay.stub.payment-status:captured}") String paymentStatus) {
+        this.port = port;
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+        this.paymentStatus = paymentStatus;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 200);
+        server.createContext("/v1/orders", this::handleOrders);
+        server.setExecutor(handlers);
+        server.start();
+        log.info("Razorpay stub listening on port {}", port);
+    }
+
+    @PreDestroy
+    void stop() {
+        server.stop(0);
+        handlers.shutdownNow();
+        log.info("Razorpay stub served {} requests", requests.get());
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private void handleOrders(HttpExchange exchange) throws IOException {
+        long n = requests.incrementAndGet();
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            boolean paymentsLookup = path.endsWith("/payments");
+            String expectedMethod = paymentsLookup ? "GET" : "POST";
+            if (!expectedMethod.equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, new JSONObject().put("error", "method not allowed"));
+                return;
+            }
+
+            JSONObject body;
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] bytes = in.readAllBytes();
+                body = bytes.length > 0 ? new JSONObject(new String(bytes, StandardCharsets.UTF_8)) : new JSONObject();
+            }
+
+            sleep(latencyMs);
+            if (failureRate > 0 && Math.random() < failureRate) {
+                respond(exchange, 503, new JSONObject().put("error", "stubbed outage"));
+                return;
+            }
+
+            if (paymentsLookup) {
+                JSONObject attempt = new JSONObject();
+                attempt.put("id", "pay_stub" + n);
+                attempt.put("entity", "payment");
+                attempt.put("status", paymentStatus);
+                JSONArray items = new JSONArray().put(attempt);
+                respond(exchange, 200, new JSONObject().put("entity", "collection").put("count", 1).put("items", items));
+                return;
+            }
+
+            JSONObject order = new JSONObject();
+            order.put("id", "order_stub" + n);
+            order.put("entity", "order");
+            order.put("amount", body.optInt("amount"));
+            order.put("currency", body.optString("currency", "INR"));
+            order.put("receipt", body.optString("receipt"));
+            order.put("status", "created");
+            respond(exchange, 200, order);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, JSONObject body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
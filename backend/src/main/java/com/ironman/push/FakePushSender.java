@@ -0,0 +1,79 @@
+package com.ironman.push;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-process stand-in for FCM for local development and offline load tests (app.push.provider=fake).
+ * Simulates a fixed per-batch latency; tokens starting with "invalid" are reported as unregistered
+ * and tokens starting with "fail" as transient failures.
+ */
+@Component
+@ConditionalOnProperty(name = "app.push.provider", havingValue = "fake")
+@Slf4j
+public class FakePushSender implements PushSender {
+
+    private final long latencyMs;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public FakePushSender(@Value("${app.push.fake.latency-ms:50}") long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public List<PushResult> send(List<PushMessage> batch) {
+        if (batch.size() > maxBatchSize()) {
+            throw new IllegalArgumentException("Batch of " + batch.size() + " exceeds " + maxBatchSize());
+        }
+
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<PushResult> results = batch.stream()
+                .map(this::simulate)
+                .collect(Collectors.toList());
+
+        batches.incrementAndGet();
+        log.debug("Fake push batch of {} delivered", batch.size());
+        return results;
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private PushResult simulate(PushMessage message) {
+        if (message.token().startsWith("invalid")) {
+            rejected.incrementAndGet();
+            return PushResult.invalidToken(message, "UNREGISTERED");
+        }
+        if (message.token().startsWith("fail")) {
+            rejected.incrementAndGet();
+            return PushResult.failed(message, "UNAVAILABLE");
+        }
+        sent.incrementAndGet();
+        return PushResult.sent(message);
+    }
+}
@@ -0,0 +1,125 @@
+package com.ironman.push;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Firebase Cloud Messaging sender. Each batch goes out as one sendEach call
+ * (up to 500 messages multiplexed over a single HTTP/2 connection).
+ */
+@Component
+@ConditionalOnProperty(name = "app.push.provider", havingValue = "fcm", matchIfMissing = true)
+@Slf4j
+public class FcmPushSender implements PushSender {
+
+    private static final Set<MessagingErrorCode> INVALID_TOKEN_ERRORS = EnumSet.of(
+            MessagingErrorCode.UNREGISTERED,
+            MessagingErrorCode.INVALID_ARGUMENT,
+            MessagingErrorCode.SENDER_ID_MISMATCH);
+
+    private final String credentialsPath;
+    private volatile FirebaseMessaging messaging;
+
+    public FcmPushSender(@Value("${app.push.fcm.credentials-path:firebase-service-account.json}") String credentialsPath) {
+        this.credentialsPath = credentialsPath;
+        // Startup does not depend on Firebase: a missing file only fails the sends
+        if (!Files.isReadable(Path.of(credentialsPath))) {
+            log.warn("FCM credentials not found at {}; push notifications will fail until it is provided " +
+                    "(or set app.push.provider=fake)", credentialsPath);
+        }
+    }
+
+    @Override
+    public List<PushResult> send(List<PushMessage> batch) {
+        List<Message> messages = batch.stream()
+                .map(this::toMessage)
+                .collect(Collectors.toList());
+
+        BatchResponse response;
+        try {
+            response = messaging().sendEach(messages);
+        } catch (IOException e) {
+            log.warn("FCM not initialised, failing batch of {}: {}", batch.size(), e.getMessage());
+            return batch.stream()
+                    .map(message -> PushResult.failed(message, "FCM not initialised: " + e.getMessage()))
+                    .collect(Collectors.toList());
+        } catch (FirebaseMessagingException e) {
+            log.warn("FCM batch of {} failed: {}", batch.size(), e.getMessage());
+            return batch.stream()
+                    .map(message -> PushResult.failed(message, e.getMessage()))
+                    .collect(Collectors.toList());
+        }
+
+        List<PushResult> results = new ArrayList<>(batch.size());
+        List<SendResponse> responses = response.getResponses();
+        for (int i = 0; i < batch.size(); i++) {
+            PushMessage message = batch.get(i);
+            SendResponse sendResponse = responses.get(i);
+            if (sendResponse.isSuccessful()) {
+                results.add(PushResult.sent(message));
+            } else if (INVALID_TOKEN_ERRORS.contains(sendResponse.getException().getMessagingErrorCode())) {
+                results.add(PushResult.invalidToken(message, sendResponse.getException().getMessage()));
+            } else {
+                results.add(PushResult.failed(message, sendResponse.getException().getMessage()));
+            }
+        }
+        return results;
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    /**
+     * Firebase client, initialised on first send; retried on the next batch if the credentials are unreadable
+     */
+    private FirebaseMessaging messaging() throws IOException {
+        FirebaseMessaging current = messaging;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (messaging == null) {
+                try (InputStream credentials = new FileInputStream(credentialsPath)) {
+                    FirebaseOptions options = FirebaseOptions.builder()
+                            .setCredentials(GoogleCredentials.fromStream(credentials))
+                            .build();
+                    FirebaseApp app = FirebaseApp.getApps().isEmpty()
+                            ? FirebaseApp.initializeApp(options)
+                            : FirebaseApp.getInstance();
+                    messaging = FirebaseMessaging.getInstance(app);
+                }
+                log.info("FCM push sender initialized");
+            }
+            return messaging;
+        }
+    }
+
+    private Message toMessage(PushMessage message) {
+        return Message.builder()
+                .setToken(message.token())
+                .setNotification(Notification.builder()
+                        .setTitle(message.title())
+                        .setBody(message.body())
+                        .build())
+                .putAllData(message.data())
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+package com.ironman.push;
+
+import java.util.Map;
+
+/**
+ * One push notification to one device token
+ */
+public record PushMessage(Long notificationId, String token, String title, String body, Map<String, String> data) {
+}
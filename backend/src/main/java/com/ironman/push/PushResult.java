@@ -0,0 +1,25 @@
+package com.ironman.push;
+
+/**
+ * Delivery outcome of one PushMessage
+ */
+public record PushResult(Long notificationId, String token, Outcome outcome, String error) {
+
+    public enum Outcome {
+        SENT,
+        INVALID_TOKEN, // token is unregistered or malformed - stop using it
+        FAILED         // transient, worth retrying
+    }
+
+    public static PushResult sent(PushMessage message) {
+        return new PushResult(message.notificationId(), message.token(), Outcome.SENT, null);
+    }
+
+    public static PushResult invalidToken(PushMessage message, String error) {
+        return new PushResult(message.notificationId(), message.token(), Outcome.INVALID_TOKEN, error);
+    }
+
+    public static PushResult failed(PushMessage message, String error) {
+        return new PushResult(message.notificationId(), message.token(), Outcome.FAILED, error);
+    }
+}
@@ -0,0 +1,19 @@
+package com.ironman.push;
+
+import java.util.List;
+
+/**
+ * Sends push notifications in provider-sized batches.
+ * Implementations return one result per message, in the same order.
+ */
+public interface PushSender {
+
+    /**
+     * Largest batch a single send call accepts
+     */
+    default int maxBatchSize() {
+        return 500;
+    }
+
+    List<PushResult> send(List<PushMessage> batch);
+}
@@ -0,0 +1,42 @@
+package com.ironman.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ironman.config.RateLimitProperties;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * In-memory Bucket4j buckets, bounded in size and dropped once idle, so scanning clients can't grow the map forever.
+ * An idle bucket would have refilled anyway, so eviction never loosens a limit.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalRateLimiter(RateLimitProperties properties) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(Duration.ofMinutes(properties.getIdleExpiryMinutes()))
+                .build();
+    }
+
+    @Override
+    public boolean tryConsume(String key, long capacity, Duration period) {
+        Bucket bucket = buckets.get(key, k -> Bucket.builder()
+                .addLimit(Bandwidth.classic(capacity, Refill.intervally(capacity, period)))
+                .build());
+        return bucket.tryConsume(1);
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
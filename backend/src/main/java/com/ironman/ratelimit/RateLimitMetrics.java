@@ -0,0 +1,47 @@
+package com.ironman.ratelimit;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Allowed/rejected counters per rate limit rule since startup
+ */
+@Component
+public class RateLimitMetrics {
+
+    private final Map<String, Counters> byRule = new ConcurrentHashMap<>();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public record RuleStats(long allowed, long rejected) {
+    }
+
+    public void record(String rule, boolean allowed) {
+        Counters counters = byRule.computeIfAbsent(rule, r -> new Counters());
+        (allowed ? counters.allowed : counters.rejected).increment();
+    }
+
+    public void recordFallback() {
+        fallbacks.increment();
+    }
+
+    public Map<String, RuleStats> snapshot() {
+        Map<String, RuleStats> stats = new TreeMap<>();
+        byRule.forEach((rule, counters) ->
+                stats.put(rule, new RuleStats(counters.allowed.sum(), counters.rejected.sum())));
+        return stats;
+    }
+
+    // Times the shared store was unavailable and a local bucket was used
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+
+    private static class Counters {
+        final LongAdder allowed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+    }
+}
@@ -0,0 +1,16 @@
+package com.ironman.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Bucket store behind RateLimitFilter
+ */
+public interface RateLimiter {
+
+    /**
+     * Take one token from the bucket for key, which holds capacity tokens refilled every period
+     *
+     * @return false if the bucket is empty
+     */
+    boolean tryConsume(String key, long capacity, Duration period);
+}
@@ -0,0 +1,55 @@
+package com.ironman.ratelimit;
+
+import com.ironman.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cluster-wide limits: one Redis counter per key and window, shared by every instance.
+ * Uses the same interval-refill semantics as the local buckets (capacity per period).
+ * If Redis is unreachable, requests are limited per instance instead of failing open or closed.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "redis")
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // Count the request and start the window on the first hit - one round trip
+    private static final RedisScript<Long> HIT = new DefaultRedisScript<>(
+            "local current = redis.call('INCR', KEYS[1]) " +
+                    "if current == 1 then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end " +
+                    "return current", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final LocalRateLimiter fallback;
+    private final RateLimitMetrics metrics;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, RateLimitProperties properties,
+                            RateLimitMetrics metrics) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = new LocalRateLimiter(properties);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean tryConsume(String key, long capacity, Duration period) {
+        try {
+            Long count = redisTemplate.execute(HIT, List.of(KEY_PREFIX + key), String.valueOf(period.toMillis()));
+            return count != null && count <= capacity;
+        } catch (DataAccessException e) {
+            metrics.recordFallback();
+            log.debug("Redis rate limit unavailable, using local bucket: {}", e.getMessage());
+            return fallback.tryConsume(key, capacity, period);
+        }
+    }
+}
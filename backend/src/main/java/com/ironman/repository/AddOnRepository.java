@@ -1,7 +1,10 @@
 package com.ironman.repository;
 
 import com.ironman.model.AddOn;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,5 +12,6 @@ import java.util.List;
 @Repository
 public interface AddOnRepository extends JpaRepository<AddOn, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<AddOn> findByIsActiveTrue();
 }
\ No newline at end of file
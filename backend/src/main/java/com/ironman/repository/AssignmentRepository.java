@@ -3,8 +3,13 @@ package com.ironman.repository;
 import com.ironman.model.Assignment;
 import com.ironman.model.AssignmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +27,64 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     List<Assignment> findByStatusOrderByCreatedAtDesc(AssignmentStatus status);
 
     Optional<Assignment> findByIdAndPartnerId(Long id, Long partnerId);
-}
\ No newline at end of file
+
+    // Latest batch first, stops of a route in driving order
+    @Query("SELECT a FROM Assignment a WHERE a.partner.id = :partnerId " +
+            "ORDER BY a.assignedAt DESC, a.routeId ASC, a.routeSequence ASC, a.id DESC")
+    List<Assignment> findByPartnerIdInRouteOrder(@Param("partnerId") Long partnerId);
+
+    @Query("SELECT a FROM Assignment a WHERE a.partner.id = :partnerId AND a.status = :status " +
+            "ORDER BY a.assignedAt DESC, a.routeId ASC, a.routeSequence ASC, a.id DESC")
+    List<Assignment> findByPartnerIdAndStatusInRouteOrder(@Param("partnerId") Long partnerId,
+                                                          @Param("status") AssignmentStatus status);
+
+    // Open assignments per partner, for balancing new routes against existing work
+    @Query("SELECT a.partner.id AS partnerId, COUNT(a) AS assignments FROM Assignment a " +
+            "WHERE a.partner.id IN :partnerIds AND a.status IN :statuses GROUP BY a.partner.id")
+    List<PartnerLoad> countByPartnerIdInAndStatusIn(@Param("partnerIds") Collection<Long> partnerIds,
+                                                    @Param("statuses") Collection<AssignmentStatus> statuses);
+
+    boolean existsByOrderIdAndAssignmentTypeAndStatusIn(Long orderId, String assignmentType,
+                                                        Collection<AssignmentStatus> statuses);
+
+    // =============================================
+    // CONDITIONAL STATE TRANSITIONS
+    // Each returns the number of rows updated - 0 means another request changed the assignment first
+    // =============================================
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Assignment a SET a.status = com.ironman.model.AssignmentStatus.ACCEPTED, " +
+            "a.acceptedAt = :now, a.updatedAt = :now, a.version = a.version + 1 " +
+            "WHERE a.id = :id AND a.partner.id = :partnerId " +
+            "AND a.status = com.ironman.model.AssignmentStatus.ASSIGNED")
+    int acceptIfAssigned(@Param("id") Long id,
+                         @Param("partnerId") Long partnerId,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Assignment a SET a.status = com.ironman.model.AssignmentStatus.REJECTED, " +
+            "a.notes = :reason, a.updatedAt = :now, a.version = a.version + 1 " +
+            "WHERE a.id = :id AND a.partner.id = :partnerId " +
+            "AND a.status = com.ironman.model.AssignmentStatus.ASSIGNED")
+    int rejectIfAssigned(@Param("id") Long id,
+                         @Param("partnerId") Long partnerId,
+                         @Param("reason") String reason,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Assignment a SET a.status = :newStatus, " +
+            "a.completedAt = :now, a.updatedAt = :now, a.version = a.version + 1 " +
+            "WHERE a.id = :id AND a.partner.id = :partnerId AND a.assignmentType = :assignmentType " +
+            "AND a.status = com.ironman.model.AssignmentStatus.ACCEPTED")
+    int completeIfAccepted(@Param("id") Long id,
+                           @Param("partnerId") Long partnerId,
+                           @Param("assignmentType") String assignmentType,
+                           @Param("newStatus") AssignmentStatus newStatus,
+                           @Param("now") LocalDateTime now);
+
+    interface PartnerLoad {
+        Long getPartnerId();
+
+        Long getAssignments();
+    }
+}
@@ -1,7 +1,10 @@
 package com.ironman.repository;
 
 import com.ironman.model.ClothType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,7 +12,9 @@ import java.util.List;
 @Repository
 public interface ClothTypeRepository extends JpaRepository<ClothType, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ClothType> findByIsActiveTrue();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ClothType> findByCategoryAndIsActiveTrue(String category);
 }
\ No newline at end of file
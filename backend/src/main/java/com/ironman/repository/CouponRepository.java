@@ -1,7 +1,12 @@
 package com.ironman.repository;
 
 import com.ironman.model.Coupon;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -11,8 +16,10 @@ import java.util.Optional;
 @Repository
 public interface CouponRepository extends JpaRepository<Coupon, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Coupon> findByCode(String code);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Coupon> findByCodeAndIsActiveTrue(String code);
 
     List<Coupon> findByIsActiveTrue();
@@ -20,4 +27,11 @@ public interface CouponRepository extends JpaRepository<Coupon, Long> {
     List<Coupon> findByValidUntilBeforeAndIsActiveTrue(LocalDateTime dateTime);
 
     boolean existsByCode(String code);
-}
\ No newline at end of file
+
+    /**
+     * Lock the coupon row and read the committed usage count. The caller counts the use on the managed
+     * entity, so only this coupon's cache entry changes - a bulk UPDATE would evict the whole region.
+     */
+    @Query(value = "SELECT current_usage_count FROM coupons WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Integer lockUsageCount(@Param("id") Long id);
+}
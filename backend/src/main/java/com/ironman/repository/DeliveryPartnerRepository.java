@@ -3,7 +3,9 @@ package com.ironman.repository;
 import com.ironman.model.DeliveryPartner;
 import com.ironman.model.PartnerStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
@@ -28,4 +30,8 @@ public interface DeliveryPartnerRepository extends JpaRepository<DeliveryPartner
 
     @Query("SELECT COUNT(p) FROM DeliveryPartner p WHERE p.status = 'APPROVED'")
     long countApprovedPartners();
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DeliveryPartner p SET p.totalDeliveries = COALESCE(p.totalDeliveries, 0) + 1 WHERE p.id = :id")
+    int incrementTotalDeliveries(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.ironman.repository;
+
+import com.ironman.model.LocationTrack;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LocationTrackRepository extends JpaRepository<LocationTrack, Long> {
+
+    Page<LocationTrack> findByPartnerIdOrderByStartedAtDesc(Long partnerId, Pageable pageable);
+
+    Optional<LocationTrack> findByAssignmentId(Long assignmentId);
+}
@@ -1,12 +1,16 @@
 package com.ironman.repository;
 
+import com.ironman.model.AssignmentStatus;
 import com.ironman.model.LocationTracking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,8 +19,15 @@ public interface LocationTrackingRepository extends JpaRepository<LocationTracki
 
     List<LocationTracking> findByPartnerIdOrderByRecordedAtDesc(Long partnerId);
 
+    // Queries below bound recorded_at from below so Postgres only scans the relevant monthly partitions
+    List<LocationTracking> findByPartnerIdAndRecordedAtGreaterThanEqualOrderByRecordedAtDesc(
+            Long partnerId, LocalDateTime since, Pageable pageable);
+
     List<LocationTracking> findByAssignmentIdOrderByRecordedAtDesc(Long assignmentId);
 
+    List<LocationTracking> findByAssignmentIdAndRecordedAtGreaterThanEqualAndRecordedAtLessThanOrderByRecordedAtAsc(
+            Long assignmentId, LocalDateTime since, LocalDateTime before);
+
     @Query("SELECT lt FROM LocationTracking lt WHERE lt.partner.id = :partnerId " +
             "ORDER BY lt.recordedAt DESC LIMIT 1")
     Optional<LocationTracking> findLatestByPartnerId(@Param("partnerId") Long partnerId);
@@ -25,4 +36,20 @@ public interface LocationTrackingRepository extends JpaRepository<LocationTracki
             "AND lt.recordedAt >= :since ORDER BY lt.recordedAt DESC")
     List<LocationTracking> findByAssignmentSince(@Param("assignmentId") Long assignmentId,
                                                  @Param("since") LocalDateTime since);
-}
\ No newline at end of file
+
+    // Assignments that are no longer active and still have raw points to compact
+    @Query("SELECT DISTINCT lt.assignment.id FROM LocationTracking lt " +
+            "WHERE lt.assignment.status NOT IN :activeStatuses " +
+            "AND lt.recordedAt >= :after AND lt.recordedAt < :before")
+    List<Long> findCompactableAssignmentIds(@Param("activeStatuses") Collection<AssignmentStatus> activeStatuses,
+                                            @Param("after") LocalDateTime after,
+                                            @Param("before") LocalDateTime before,
+                                            Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM LocationTracking lt WHERE lt.assignment.id = :assignmentId " +
+            "AND lt.recordedAt >= :since AND lt.recordedAt < :before")
+    int deleteByAssignmentIdBetween(@Param("assignmentId") Long assignmentId,
+                                    @Param("since") LocalDateTime since,
+                                    @Param("before") LocalDateTime before);
+}
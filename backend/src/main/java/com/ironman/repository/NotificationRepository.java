@@ -1,19 +1,111 @@
 package com.ironman.repository;
 
 import com.ironman.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
+    // Keyset feed queries - pass PageRequest.of(0, n) as the limit, never an offset
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeedFirstPage(@Param("userId") Long userId, Pageable limit);
 
-    List<Notification> findByUserIdAndIsReadFalseOrderByCreatedAtDesc(Long userId);
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeedAfter(@Param("userId") Long userId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.isRead = false " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findUnreadFeedFirstPage(@Param("userId") Long userId, Pageable limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.isRead = false " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findUnreadFeedAfter(@Param("userId") Long userId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable limit);
 
     long countByUserIdAndIsReadFalse(Long userId);
 
     List<Notification> findByOrderId(Long orderId);
+
+    // 0 when already read (or not the user's), so concurrent calls decrement the unread counter once
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true " +
+            "WHERE n.id = :id AND n.user.id = :userId AND n.isRead = false")
+    int markAsReadIfUnread(@Param("id") Long id, @Param("userId") Long userId);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllAsReadByUserId(@Param("userId") Long userId);
+
+    /**
+     * Lock recent notifications whose push is still pending. Claims older than staleBefore
+     * belong to a dispatcher that died mid-batch and are taken over.
+     */
+    @Query(value = "SELECT * FROM notifications WHERE fcm_sent = false AND fcm_token IS NOT NULL " +
+            "AND created_at >= :since AND (fcm_claimed_at IS NULL OR fcm_claimed_at < :staleBefore) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Notification> lockPendingPushes(@Param("since") LocalDateTime since,
+                                         @Param("staleBefore") LocalDateTime staleBefore,
+                                         @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.fcmClaimedAt = :now WHERE n.id IN :ids")
+    int claimPushes(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.fcmSent = true, n.fcmClaimedAt = NULL WHERE n.id IN :ids")
+    int markPushed(@Param("ids") Collection<Long> ids);
+
+    // Invalid token: keep fcm_sent = false but stop retrying
+    @Modifying
+    @Query("UPDATE Notification n SET n.fcmToken = NULL, n.fcmClaimedAt = NULL WHERE n.id IN :ids")
+    int dropPushes(@Param("ids") Collection<Long> ids);
+
+    // The archive table comes from the hand-applied V7 migration, not from an entity
+    @Query(value = "SELECT to_regclass('notifications_archive') IS NOT NULL", nativeQuery = true)
+    boolean archiveTableExists();
+
+    /**
+     * One archived row: whose it was and whether it still counted as unread
+     */
+    interface ArchivedRow {
+        Long getUserId();
+
+        Boolean getIsRead();
+    }
+
+    /**
+     * Move one batch of notifications created before the cutoff into notifications_archive.
+     * Delete and insert run as a single statement, so a row is never in both tables or neither.
+     * Returns the moved rows so callers can correct unread counters.
+     */
+    @Query(value = "WITH moved AS (" +
+            "DELETE FROM notifications WHERE id IN (" +
+            "SELECT id FROM notifications WHERE created_at < :cutoff ORDER BY id LIMIT :batchSize " +
+            "FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, user_id, type, title, message, order_id, is_read, fcm_sent, fcm_token, created_at), " +
+            "archived AS (INSERT INTO notifications_archive " +
+            "(id, user_id, type, title, message, order_id, is_read, fcm_sent, fcm_token, created_at, archived_at) " +
+            "SELECT id, user_id, type, title, message, order_id, is_read, fcm_sent, fcm_token, created_at, " +
+            "CURRENT_TIMESTAMP FROM moved) " +
+            "SELECT user_id AS userId, is_read AS isRead FROM moved", nativeQuery = true)
+    List<ArchivedRow> archiveCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.ironman.repository;
 
+import com.ironman.model.AssignmentStatus;
 import com.ironman.model.Order;
 import com.ironman.model.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,6 +13,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +41,9 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
     // Count orders by status
     long countByStatus(OrderStatus status);
 
+    // Whether the customer has any order not in the given status (uses idx_orders_customer_status)
+    boolean existsByCustomerIdAndStatusNot(Long customerId, OrderStatus status);
+
     // Get latest order number
     @Query("SELECT o.orderNumber FROM Order o ORDER BY o.id DESC LIMIT 1")
     Optional<String> findLatestOrderNumber();
@@ -54,4 +61,60 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
             "WHERE o.customer.id = :customerId " +
             "ORDER BY o.createdAt DESC")
     List<Order> findByCustomerIdWithDetails(@Param("customerId") Long customerId);
-}
\ No newline at end of file
+
+    // Orders waiting for pickup in a slot with no active pickup assignment yet,
+    // with pickup address loaded for route planning
+    @Query("SELECT o FROM Order o " +
+            "JOIN FETCH o.pickupAddress " +
+            "WHERE o.pickupDate = :pickupDate AND o.pickupSlot = :pickupSlot AND o.status IN :statuses " +
+            "AND NOT EXISTS (SELECT a.id FROM Assignment a WHERE a.order = o " +
+            "AND a.assignmentType = 'PICKUP' AND a.status IN :activeStatuses) " +
+            "ORDER BY o.id")
+    List<Order> findForRoutePlanning(@Param("pickupDate") LocalDate pickupDate,
+                                     @Param("pickupSlot") String pickupSlot,
+                                     @Param("statuses") Collection<OrderStatus> statuses,
+                                     @Param("activeStatuses") Collection<AssignmentStatus> activeStatuses);
+
+    // =============================================
+    // CONDITIONAL STATE TRANSITIONS
+    // Each returns the number of rows updated - 0 means another request changed the order first
+    // =============================================
+
+    // Compare-and-set on the version read by the caller
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.id = :id AND o.version = :expectedVersion AND o.status IN :allowedStatuses")
+    int claimStatus(@Param("id") Long id,
+                    @Param("expectedVersion") Long expectedVersion,
+                    @Param("allowedStatuses") Collection<OrderStatus> allowedStatuses,
+                    @Param("newStatus") OrderStatus newStatus,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.id = :id AND o.status = :expectedStatus")
+    int updateStatusIfCurrent(@Param("id") Long id,
+                              @Param("expectedStatus") OrderStatus expectedStatus,
+                              @Param("newStatus") OrderStatus newStatus,
+                              @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = com.ironman.model.OrderStatus.PICKED_UP, " +
+            "o.actualPickupTime = :now, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.id = :id AND o.status = com.ironman.model.OrderStatus.PICKUP_ASSIGNED")
+    int markPickedUp(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = com.ironman.model.OrderStatus.DELIVERED, " +
+            "o.actualDeliveryTime = :now, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.id = :id AND o.status = com.ironman.model.OrderStatus.OUT_FOR_DELIVERY")
+    int markDelivered(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Payment captured: a PENDING order moves on to pickup, later states are left alone
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.paymentStatus = com.ironman.model.PaymentStatus.PAID, " +
+            "o.status = CASE WHEN o.status = com.ironman.model.OrderStatus.PENDING " +
+            "THEN com.ironman.model.OrderStatus.PICKUP_ASSIGNED ELSE o.status END, " +
+            "o.updatedAt = :now, o.version = o.version + 1 WHERE o.id = :id")
+    int markPaymentPaid(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -4,6 +4,7 @@ import com.ironman.model.OrderStatusHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -12,4 +13,8 @@ public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusH
     List<OrderStatusHistory> findByOrderIdOrderByChangedAtAsc(Long orderId);
 
     List<OrderStatusHistory> findByOrderIdOrderByChangedAtDesc(Long orderId);
+
+    // Lower bound on changed_at lets Postgres prune partitions older than the order
+    List<OrderStatusHistory> findByOrderIdAndChangedAtGreaterThanEqualOrderByChangedAtAsc(Long orderId,
+                                                                                      LocalDateTime since);
 }
\ No newline at end of file
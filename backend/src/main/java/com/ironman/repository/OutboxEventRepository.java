@@ -0,0 +1,56 @@
+package com.ironman.repository;
+
+import com.ironman.model.OutboxEvent;
+import com.ironman.model.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Lock a batch of due events of one channel. SKIP LOCKED lets several app instances
+     * drain the outbox without handing out the same row twice.
+     * PROCESSING rows with an old claim belong to a dispatcher that died mid-delivery.
+     */
+    @Query(value = "SELECT * FROM outbox_events WHERE channel = :channel " +
+            "AND ((status = 'PENDING' AND next_attempt_at <= :now) " +
+            "OR (status = 'PROCESSING' AND claimed_at < :staleBefore)) " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockDueEvents(@Param("channel") String channel,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("staleBefore") LocalDateTime staleBefore,
+                                    @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = com.ironman.model.OutboxStatus.SENT, " +
+            "e.attempts = e.attempts + 1, e.processedAt = :now, e.lastError = NULL WHERE e.id = :id")
+    int markSent(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.attempts = e.attempts + 1, " +
+            "e.nextAttemptAt = :nextAttemptAt, e.lastError = :error, e.processedAt = :processedAt WHERE e.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("status") OutboxStatus status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error,
+                   @Param("processedAt") LocalDateTime processedAt);
+
+    // Hand a claimed event back without counting an attempt (e.g. worker pool full)
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = com.ironman.model.OutboxStatus.PENDING, e.claimedAt = NULL " +
+            "WHERE e.id = :id AND e.status = com.ironman.model.OutboxStatus.PROCESSING")
+    int release(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = com.ironman.model.OutboxStatus.SENT AND e.processedAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+
+    long countByStatus(OutboxStatus status);
+}
@@ -2,9 +2,14 @@ package com.ironman.repository;
 
 import com.ironman.model.Payment;
 import com.ironman.model.PaymentStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +30,38 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     // Find payment by Razorpay payment ID
     Optional<Payment> findByRazorpayPaymentId(String razorpayPaymentId);
-}
\ No newline at end of file
+
+    // Reconciliation scan: PENDING payments created before the cutoff, keyset-paged by id
+    @Query("SELECT p FROM Payment p WHERE p.status = com.ironman.model.PaymentStatus.PENDING " +
+            "AND p.razorpayOrderId IS NOT NULL AND p.createdAt < :createdBefore AND p.id > :afterId " +
+            "ORDER BY p.id")
+    List<Payment> findStalePending(@Param("createdBefore") LocalDateTime createdBefore,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    // =============================================
+    // CONDITIONAL STATE TRANSITIONS
+    // Shared by checkout verification and webhooks - 0 rows means the transition already happened
+    // =============================================
+
+    // A failed attempt can still be followed by a successful one on the same Razorpay order
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = com.ironman.model.PaymentStatus.PAID, " +
+            "p.razorpayPaymentId = :paymentId, p.razorpaySignature = :signature, p.failureReason = NULL, " +
+            "p.updatedAt = :now WHERE p.id = :id AND p.status IN " +
+            "(com.ironman.model.PaymentStatus.PENDING, com.ironman.model.PaymentStatus.FAILED)")
+    int markPaid(@Param("id") Long id,
+                 @Param("paymentId") String paymentId,
+                 @Param("signature") String signature,
+                 @Param("now") LocalDateTime now);
+
+    // Never downgrades a PAID payment
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = com.ironman.model.PaymentStatus.FAILED, " +
+            "p.razorpayPaymentId = :paymentId, p.failureReason = :reason, p.updatedAt = :now " +
+            "WHERE p.id = :id AND p.status = com.ironman.model.PaymentStatus.PENDING")
+    int markFailed(@Param("id") Long id,
+                   @Param("paymentId") String paymentId,
+                   @Param("reason") String reason,
+                   @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,72 @@
+package com.ironman.repository;
+
+import com.ironman.model.PaymentWebhookEvent;
+import com.ironman.model.WebhookEventStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+
+    /**
+     * Store an event unless its event_id was seen before
+     *
+     * @return 1 if stored, 0 for a duplicate delivery
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payment_webhook_events " +
+            "(event_id, event_type, razorpay_order_id, razorpay_payment_id, payload, status, attempts, received_at) " +
+            "VALUES (:eventId, :eventType, :razorpayOrderId, :razorpayPaymentId, :payload, 'RECEIVED', 0, :now) " +
+            "ON CONFLICT (event_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId,
+                       @Param("eventType") String eventType,
+                       @Param("razorpayOrderId") String razorpayOrderId,
+                       @Param("razorpayPaymentId") String razorpayPaymentId,
+                       @Param("payload") String payload,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Lock a batch of events to process, oldest first.
+     * Orders that already have an event in flight elsewhere are skipped so per-order order is kept.
+     */
+    @Query(value = "SELECT * FROM payment_webhook_events e " +
+            "WHERE (e.status = 'RECEIVED' OR (e.status = 'PROCESSING' AND e.claimed_at < :staleBefore)) " +
+            "AND NOT EXISTS (SELECT 1 FROM payment_webhook_events p WHERE p.status = 'PROCESSING' " +
+            "AND p.claimed_at >= :staleBefore AND p.razorpay_order_id = e.razorpay_order_id) " +
+            "ORDER BY e.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<PaymentWebhookEvent> lockPending(@Param("staleBefore") LocalDateTime staleBefore,
+                                          @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE PaymentWebhookEvent e SET e.status = com.ironman.model.WebhookEventStatus.PROCESSING, " +
+            "e.claimedAt = :now WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE PaymentWebhookEvent e SET e.status = :status, e.attempts = e.attempts + 1, " +
+            "e.processedAt = :now, e.lastError = :error WHERE e.id = :id")
+    int finish(@Param("id") Long id,
+               @Param("status") WebhookEventStatus status,
+               @Param("error") String error,
+               @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE PaymentWebhookEvent e SET e.status = com.ironman.model.WebhookEventStatus.RECEIVED, " +
+            "e.attempts = e.attempts + 1, e.claimedAt = NULL, e.lastError = :error WHERE e.id = :id")
+    int retry(@Param("id") Long id, @Param("error") String error);
+
+    // Hand back claimed events that were not attempted this round
+    @Modifying
+    @Query("UPDATE PaymentWebhookEvent e SET e.status = com.ironman.model.WebhookEventStatus.RECEIVED, " +
+            "e.claimedAt = NULL WHERE e.id IN :ids AND e.status = com.ironman.model.WebhookEventStatus.PROCESSING")
+    int release(@Param("ids") Collection<Long> ids);
+
+    long countByStatus(WebhookEventStatus status);
+}
@@ -3,9 +3,13 @@ package com.ironman.repository;
 import com.ironman.model.User;
 import com.ironman.model.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +24,12 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     long countByRole(UserRole role);
 
     List<User> findByRole(UserRole role);
+
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash WHERE u.phone = :phone")
+    int updatePasswordHash(@Param("phone") String phone, @Param("passwordHash") String passwordHash);
+
+    @Modifying
+    @Query("UPDATE User u SET u.fcmToken = NULL WHERE u.fcmToken IN :tokens")
+    int clearFcmTokens(@Param("tokens") Collection<String> tokens);
 }
\ No newline at end of file
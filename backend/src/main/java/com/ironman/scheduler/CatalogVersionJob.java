@@ -0,0 +1,28 @@
+package com.ironman.scheduler;
+
+import com.ironman.service.CatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks up catalog refreshes made on other instances
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogVersionJob {
+
+    private final CatalogService catalogService;
+
+    @Scheduled(fixedDelayString = "${app.catalog.version-check-ms:15000}",
+            initialDelayString = "${app.catalog.version-check-ms:15000}")
+    public void syncCatalogVersion() {
+        try {
+            catalogService.syncVersion();
+        } catch (Exception e) {
+            log.error("Catalog version check failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ironman.scheduler;
+
+import com.ironman.service.LocationTrackService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically folds the raw location points of finished assignments into compact tracks.
+ * Each assignment is compacted in its own transaction so one bad track cannot stall the batch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocationTrackCompactionJob {
+
+    private final LocationTrackService locationTrackService;
+
+    @Value("${app.tracking.compaction.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.tracking.compaction.fixed-delay-ms:300000}",
+            initialDelayString = "${app.tracking.compaction.initial-delay-ms:60000}")
+    public void compactFinishedTracks() {
+        List<Long> assignmentIds = locationTrackService.findCompactableAssignments(batchSize);
+        if (assignmentIds.isEmpty()) {
+            return;
+        }
+
+        int compacted = 0;
+        long removedPoints = 0;
+        for (Long assignmentId : assignmentIds) {
+            try {
+                removedPoints += locationTrackService.compactAssignment(assignmentId);
+                compacted++;
+            } catch (Exception e) {
+                log.error("Failed to compact track for assignment {}: {}", assignmentId, e.getMessage());
+            }
+        }
+
+        log.info("Track compaction: {} assignments compacted, {} raw points removed", compacted, removedPoints);
+    }
+}
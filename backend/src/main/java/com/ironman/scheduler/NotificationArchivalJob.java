@@ -0,0 +1,71 @@
+package com.ironman.scheduler;
+
+import com.ironman.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nightly move of old notifications into notifications_archive, keeping the hot table and its indexes small.
+ * Each batch is its own short transaction so the job never holds long locks on notifications.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationArchivalJob {
+
+    private final NotificationService notificationService;
+    private final AtomicBoolean missingArchiveReported = new AtomicBoolean();
+
+    @Value("${app.notifications.archive.after-days:90}")
+    private long archiveAfterDays;
+
+    @Value("${app.notifications.archive.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.notifications.archive.max-batches:200}")
+    private int maxBatches;
+
+    @Scheduled(cron = "${app.notifications.archive.cron:0 0 3 * * *}")
+    public void archiveOldNotifications() {
+        try {
+            if (!notificationService.isArchiveInstalled()) {
+                // Warn once, not every night; picked up as soon as the migration is applied
+                if (missingArchiveReported.compareAndSet(false, true)) {
+                    log.warn("Notification archival skipped: notifications_archive not found - " +
+                            "apply db/migration/V7__notification_archive.sql");
+                }
+                return;
+            }
+            missingArchiveReported.set(false);
+        } catch (Exception e) {
+            log.error("Notification archival check failed: {}", e.getMessage());
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(archiveAfterDays);
+
+        long archived = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int moved;
+            try {
+                moved = notificationService.archiveBatch(cutoff, batchSize);
+            } catch (Exception e) {
+                log.error("Notification archival stopped after {} rows: {}", archived, e.getMessage());
+                return;
+            }
+
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+
+        log.info("Notification archival: {} notifications older than {} archived", archived, cutoff.toLocalDate());
+    }
+}
@@ -0,0 +1,157 @@
+package com.ironman.scheduler;
+
+import com.ironman.dto.request.EmailRequest;
+import com.ironman.dto.request.SmsRequest;
+import com.ironman.dto.response.SmsResponse;
+import com.ironman.exception.CustomException;
+import com.ironman.model.OutboxChannel;
+import com.ironman.model.OutboxEvent;
+import com.ironman.service.EmailService;
+import com.ironman.service.NotificationService;
+import com.ironman.service.OutboxService;
+import com.ironman.service.SmsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox. Each channel has its own bounded worker pool, so a slow SMS or mail provider
+ * only backs up its own channel. Events are claimed in batches sized to the free pool capacity.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxService outboxService;
+    private final NotificationService notificationService;
+    private final SmsService smsService;
+    private final EmailService emailService;
+
+    private final Map<OutboxChannel, ThreadPoolExecutor> workers = new EnumMap<>(OutboxChannel.class);
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.workers.notification:2}")
+    private int notificationWorkers;
+
+    @Value("${app.outbox.workers.sms:4}")
+    private int smsWorkers;
+
+    @Value("${app.outbox.workers.email:4}")
+    private int emailWorkers;
+
+    @Value("${app.outbox.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.outbox.sent-retention-days:7}")
+    private long sentRetentionDays;
+
+    @PostConstruct
+    void startWorkers() {
+        workers.put(OutboxChannel.NOTIFICATION, newPool("outbox-notification-", notificationWorkers));
+        workers.put(OutboxChannel.SMS, newPool("outbox-sms-", smsWorkers));
+        workers.put(OutboxChannel.EMAIL, newPool("outbox-email-", emailWorkers));
+    }
+
+    @PreDestroy
+    void stopWorkers() throws InterruptedException {
+        workers.values().forEach(ThreadPoolExecutor::shutdown);
+        for (ThreadPoolExecutor pool : workers.values()) {
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}",
+            initialDelayString = "${app.outbox.initial-delay-ms:10000}")
+    public void dispatch() {
+        workers.forEach((channel, pool) -> {
+            int capacity = Math.min(batchSize, pool.getQueue().remainingCapacity());
+            if (capacity == 0) {
+                return;
+            }
+
+            List<OutboxEvent> events;
+            try {
+                events = outboxService.claimDueEvents(channel, capacity);
+            } catch (Exception e) {
+                log.error("Failed to claim {} outbox events: {}", channel, e.getMessage());
+                return;
+            }
+
+            for (OutboxEvent event : events) {
+                try {
+                    pool.execute(() -> deliver(event));
+                } catch (RejectedExecutionException e) {
+                    outboxService.release(event);
+                }
+            }
+        });
+    }
+
+    @Scheduled(cron = "${app.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeSentEvents() {
+        int purged = outboxService.purgeSent(LocalDateTime.now().minusDays(sentRetentionDays));
+        log.info("Outbox purge: {} sent events removed, {} dead events awaiting review",
+                purged, outboxService.countDead());
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private void deliver(OutboxEvent event) {
+        try {
+            switch (event.getChannel()) {
+                case NOTIFICATION -> deliverNotification(event);
+                case SMS -> deliverSms(event);
+                case EMAIL -> emailService.deliverHtmlEmail(outboxService.readPayload(event, EmailRequest.class));
+            }
+            outboxService.markSent(event);
+        } catch (Exception e) {
+            // Bad payloads and business errors (e.g. user deleted) won't succeed on retry
+            boolean retryable = !(e instanceof CustomException || e instanceof IllegalArgumentException);
+            try {
+                outboxService.markFailed(event, e, retryable);
+            } catch (Exception markError) {
+                // Row stays PROCESSING and is reclaimed once the claim times out
+                log.error("Failed to record outbox failure for event {}: {}", event.getId(), markError.getMessage());
+            }
+        }
+    }
+
+    private void deliverNotification(OutboxEvent event) {
+        OutboxService.NotificationMessage message =
+                outboxService.readPayload(event, OutboxService.NotificationMessage.class);
+        notificationService.createNotification(message.userId(), message.type(), message.title(),
+                message.message(), message.orderId());
+    }
+
+    private void deliverSms(OutboxEvent event) {
+        // Outbox workers wait for the outcome so a failed send is retried
+        SmsResponse response = smsService.queueSms(outboxService.readPayload(event, SmsRequest.class)).join();
+        if ("FAILED".equals(response.getStatus())) {
+            throw new IllegalStateException("SMS to " + response.getPhoneNumber() + " failed, see sms_logs");
+        }
+    }
+
+    private ThreadPoolExecutor newPool(String threadPrefix, int size) {
+        return new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(threadPrefix));
+    }
+}
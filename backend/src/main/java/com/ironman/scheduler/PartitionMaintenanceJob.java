@@ -0,0 +1,43 @@
+package com.ironman.scheduler;
+
+import com.ironman.service.PartitionMaintenanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs partition maintenance at startup and daily, so inserts never hit a month without a partition
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionMaintenanceJob {
+
+    private final PartitionMaintenanceService partitionMaintenanceService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.partitioning.cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        try {
+            if (!partitionMaintenanceService.isPartitioningInstalled()) {
+                return;
+            }
+        } catch (Exception e) {
+            log.error("Partition maintenance check failed: {}", e.getMessage());
+            return;
+        }
+
+        partitionMaintenanceService.getPartitionedTables().forEach((table, retentionMonths) -> {
+            try {
+                partitionMaintenanceService.ensureFuturePartitions(table);
+                int removed = partitionMaintenanceService.applyRetention(table, retentionMonths);
+                log.info("Partition maintenance for {}: future partitions ensured, {} expired removed", table, removed);
+            } catch (Exception e) {
+                log.error("Partition maintenance failed for {}: {}", table, e.getMessage());
+            }
+        });
+    }
+}
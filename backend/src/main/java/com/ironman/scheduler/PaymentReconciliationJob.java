@@ -0,0 +1,28 @@
+package com.ironman.scheduler;
+
+import com.ironman.service.PaymentReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodic reconciliation of payments stuck in PENDING against the gateway
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentReconciliationJob {
+
+    private final PaymentReconciliationService reconciliationService;
+
+    @Scheduled(fixedDelayString = "${app.payments.reconciliation.interval-ms:600000}",
+            initialDelayString = "${app.payments.reconciliation.initial-delay-ms:60000}")
+    public void reconcilePendingPayments() {
+        try {
+            reconciliationService.reconcile();
+        } catch (Exception e) {
+            log.error("Payment reconciliation failed: {}", e.getMessage());
+        }
+    }
+}
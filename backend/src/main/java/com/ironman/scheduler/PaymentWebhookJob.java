@@ -0,0 +1,106 @@
+package com.ironman.scheduler;
+
+import com.ironman.model.PaymentWebhookEvent;
+import com.ironman.service.PaymentWebhookService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Applies stored Razorpay webhook events.
+ * Events are grouped by Razorpay order id: groups run in parallel, events within a group run in arrival order,
+ * and a failure stops its group for this run so later events never overtake it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentWebhookJob {
+
+    private final PaymentWebhookService webhookService;
+
+    private ExecutorService workers;
+
+    @Value("${app.payments.webhook.workers:4}")
+    private int workerCount;
+
+    @Value("${app.payments.webhook.batch-size:200}")
+    private int batchSize;
+
+    @PostConstruct
+    void startWorkers() {
+        workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("webhook-"));
+    }
+
+    @PreDestroy
+    void stopWorkers() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${app.payments.webhook.poll-interval-ms:500}")
+    public void processPendingEvents() {
+        List<PaymentWebhookEvent> events;
+        try {
+            events = webhookService.claimPending(batchSize);
+        } catch (Exception e) {
+            log.error("Failed to claim webhook events: {}", e.getMessage());
+            return;
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<PaymentWebhookEvent>> byOrder = new LinkedHashMap<>();
+        for (PaymentWebhookEvent event : events) {
+            String key = Objects.requireNonNullElse(event.getRazorpayOrderId(), "event-" + event.getId());
+            byOrder.computeIfAbsent(key, k -> new ArrayList<>()).add(event);
+        }
+
+        List<CompletableFuture<Void>> groups = byOrder.values().stream()
+                .map(group -> CompletableFuture.runAsync(() -> processGroup(group), workers))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(groups.toArray(CompletableFuture[]::new)).join();
+
+        log.info("Processed {} webhook events across {} orders", events.size(), byOrder.size());
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private void processGroup(List<PaymentWebhookEvent> group) {
+        for (int i = 0; i < group.size(); i++) {
+            PaymentWebhookEvent event = group.get(i);
+            try {
+                webhookService.process(event);
+            } catch (Exception e) {
+                try {
+                    webhookService.recordFailure(event, e);
+                    webhookService.release(group.subList(i + 1, group.size()).stream()
+                            .map(PaymentWebhookEvent::getId)
+                            .collect(Collectors.toList()));
+                } catch (Exception recordError) {
+                    log.error("Failed to record webhook failure for {}: {}", event.getEventId(),
+                            recordError.getMessage());
+                }
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ironman.scheduler;
+
+import com.ironman.push.PushMessage;
+import com.ironman.push.PushResult;
+import com.ironman.push.PushSender;
+import com.ironman.service.PushDeliveryService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers pending pushes: claims up to one batch per worker, sends the batches in parallel on a bounded pool
+ * and records each batch's outcome with bulk updates as soon as it returns.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PushDispatchJob {
+
+    private final PushDeliveryService pushDeliveryService;
+    private final PushSender pushSender;
+
+    private ThreadPoolExecutor executor;
+
+    @Value("${app.push.workers:4}")
+    private int workers;
+
+    @PostConstruct
+    void startWorkers() {
+        // Caller runs when saturated, which simply slows the next claim down
+        executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(workers), new CustomizableThreadFactory("push-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void stopWorkers() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${app.push.poll-interval-ms:2000}",
+            initialDelayString = "${app.push.initial-delay-ms:15000}")
+    public void dispatchPendingPushes() {
+        int batchSize = pushSender.maxBatchSize();
+        List<PushMessage> pending;
+        try {
+            pending = pushDeliveryService.claimPending(batchSize * workers);
+        } catch (Exception e) {
+            log.error("Failed to claim pending pushes: {}", e.getMessage());
+            return;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<PushMessage> batch = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            batches.add(CompletableFuture.runAsync(() -> sendBatch(batch), executor));
+        }
+
+        // Wait so ticks never overlap; parallelism comes from the pool
+        CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+        log.info("Push dispatch: {} pushes in {} batches", pending.size(), batches.size());
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private void sendBatch(List<PushMessage> batch) {
+        List<PushResult> results;
+        try {
+            results = pushSender.send(batch);
+        } catch (Exception e) {
+            log.error("Push batch of {} failed: {}", batch.size(), e.getMessage());
+            results = batch.stream()
+                    .map(message -> PushResult.failed(message, e.getMessage()))
+                    .collect(Collectors.toList());
+        }
+
+        try {
+            pushDeliveryService.recordResults(results);
+        } catch (Exception e) {
+            log.error("Failed to record push results for {} notifications: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ironman.security;
+
+import com.ironman.config.RateLimitProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client address of a request. X-Forwarded-For is only honoured from a trusted proxy;
+ * the client is the last hop no trusted proxy added.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientIpResolver {
+
+    private final RateLimitProperties properties;
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded == null || forwarded.isEmpty() || !properties.getTrustedProxies().contains(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !properties.getTrustedProxies().contains(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddr;
+    }
+}
@@ -0,0 +1,93 @@
+package com.ironman.security;
+
+import com.ironman.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs password hashing (login checks and new hashes) on a small dedicated pool instead of request threads,
+ * so a login burst can use at most `threads` cores. When the queue is full, work is shed with a 503
+ * rather than letting latency grow for everyone.
+ */
+@Service
+@Slf4j
+public class CredentialVerificationService {
+
+    private final AuthenticationManager authenticationManager;
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hashingPool;
+    private final LongAdder shed = new LongAdder();
+
+    public CredentialVerificationService(AuthenticationManager authenticationManager,
+                                         PasswordEncoder passwordEncoder,
+                                         @Value("${app.auth.hashing.threads:0}") int threads,
+                                         @Value("${app.auth.hashing.queue-capacity:64}") int queueCapacity) {
+        this.authenticationManager = authenticationManager;
+        this.passwordEncoder = passwordEncoder;
+
+        // 0 = one thread per core
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.hashingPool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("credential-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    /**
+     * Check a phone/password pair. Fails with AuthenticationException on bad credentials
+     * and ServiceUnavailableException when the pool is saturated.
+     * Outdated hashes are re-encoded by the authentication provider as part of the check.
+     */
+    public CompletableFuture<Authentication> authenticate(String phone, String rawPassword) {
+        return submit(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(phone, rawPassword)));
+    }
+
+    /**
+     * Hash a new password. Fails with ServiceUnavailableException when the pool is saturated.
+     */
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            hashingPool.execute(() -> {
+                try {
+                    result.complete(task.call());
+                } catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            shed.increment();
+            log.warn("Credential pool saturated ({} queued), shedding request", hashingPool.getQueue().size());
+            result.completeExceptionally(
+                    new ServiceUnavailableException("Too many sign-in attempts right now, please retry shortly"));
+        }
+        return result;
+    }
+}
@@ -2,6 +2,7 @@ package com.ironman.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -15,54 +16,55 @@ import java.util.Date;
 @Slf4j
 public class JwtTokenProvider {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    // Built once - key derivation and parser setup are not free
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     // Generate JWT token from Authentication
     public String generateToken(Authentication authentication) {
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
-        return generateTokenFromPhone(userPrincipal.getUsername());
+        return generateToken((UserDetailsImpl) authentication.getPrincipal());
     }
 
-    // Generate token from phone number
-    public String generateTokenFromPhone(String phone) {
+    // Generate token carrying user id and role, so requests authenticate without a user lookup
+    public String generateToken(UserDetailsImpl user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
-                .subject(phone)
+                .subject(user.getPhone())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    // Get phone from JWT token
-    public String getPhoneFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
+    public long getExpirationMs() {
+        return jwtExpirationMs;
     }
 
-    // Validate JWT token
-    public boolean validateToken(String authToken) {
+    /**
+     * Verify the token and return its claims, or null if it is not valid. One parse, one signature check.
+     */
+    public Claims parseClaims(String authToken) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
+            return parser.parseSignedClaims(authToken).getPayload();
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -74,6 +76,6 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
-}
\ No newline at end of file
+}
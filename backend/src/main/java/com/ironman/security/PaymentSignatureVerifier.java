@@ -0,0 +1,92 @@
+package com.ironman.security;
+
+import com.ironman.config.RazorpayConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+/**
+ * Razorpay signature checks for checkout callbacks and webhooks.
+ * Each thread keeps one Mac per secret, initialised once (doFinal resets it for the next call),
+ * and signatures are compared in constant time.
+ */
+@Component
+@Slf4j
+public class PaymentSignatureVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final ThreadLocal<Mac> checkoutMac;
+    private final ThreadLocal<Mac> webhookMac;
+
+    public PaymentSignatureVerifier(RazorpayConfig razorpayConfig) {
+        this.checkoutMac = ThreadLocal.withInitial(() -> newMac(razorpayConfig.getKeySecret()));
+        this.webhookMac = ThreadLocal.withInitial(() -> newMac(razorpayConfig.getWebhookSecret()));
+    }
+
+    /**
+     * Checkout signature: HMAC_SHA256(orderId|paymentId, keySecret)
+     */
+    public boolean verifyPaymentSignature(String orderId, String paymentId, String signature) {
+        try {
+            String payload = orderId + "|" + paymentId;
+            return matches(checkoutMac.get(), payload, signature);
+        } catch (Exception e) {
+            log.error("Signature verification error", e);
+            return false;
+        }
+    }
+
+    /**
+     * Webhook signature: HMAC_SHA256(rawBody, webhookSecret)
+     */
+    public boolean verifyWebhookSignature(String payload, String signature) {
+        try {
+            return matches(webhookMac.get(), payload, signature);
+        } catch (Exception e) {
+            log.error("Webhook signature error", e);
+            return false;
+        }
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private static Mac newMac(String secret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+
+    private static boolean matches(Mac mac, String data, String signature) {
+        if (signature == null) {
+            return false;
+        }
+        byte[] expected = toHex(mac.doFinal(data.getBytes(StandardCharsets.UTF_8)));
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Lowercase hex as ASCII bytes, two table lookups per input byte
+     */
+    private static byte[] toHex(byte[] bytes) {
+        byte[] hex = new byte[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xff;
+            hex[2 * i] = HEX_DIGITS[v >>> 4];
+            hex[2 * i + 1] = HEX_DIGITS[v & 0x0f];
+        }
+        return hex;
+    }
+}
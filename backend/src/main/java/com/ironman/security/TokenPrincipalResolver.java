@@ -0,0 +1,125 @@
+package com.ironman.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns a bearer token into a principal.
+ * Tokens carry user id and role, so a valid token needs no user lookup; verified tokens are cached
+ * for a few seconds so repeat requests skip the signature check entirely.
+ * When a user's role changes, tokens issued before the change are marked stale (in Redis, shared by
+ * all instances) and reload the user once per cache window - other instances pick it up within cache-ttl.
+ */
+@Component
+@Slf4j
+public class TokenPrincipalResolver {
+
+    private static final String STALE_KEY_PREFIX = "auth:claims-stale:";
+
+    private final JwtTokenProvider tokenProvider;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public TokenPrincipalResolver(JwtTokenProvider tokenProvider,
+                                  UserDetailsServiceImpl userDetailsService,
+                                  StringRedisTemplate redisTemplate,
+                                  @Value("${app.auth.token-cache.ttl-seconds:30}") long ttlSeconds,
+                                  @Value("${app.auth.token-cache.max-size:50000}") long maxSize) {
+        this.tokenProvider = tokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.redisTemplate = redisTemplate;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Principal for a token, or null if the token is invalid or expired
+     */
+    public UserDetailsImpl resolve(String token) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.principal();
+        }
+
+        Claims claims = tokenProvider.parseClaims(token);
+        if (claims == null) {
+            verifiedTokens.invalidate(token);
+            return null;
+        }
+
+        UserDetailsImpl principal = toPrincipal(claims);
+        verifiedTokens.put(token, new VerifiedToken(principal, claims.getExpiration().getTime()));
+        return principal;
+    }
+
+    /**
+     * Make tokens issued before now reload the user (e.g. after a role change), once the transaction commits
+     */
+    public void markClaimsStale(Long userId) {
+        Runnable action = () -> {
+            verifiedTokens.asMap().values().removeIf(token -> userId.equals(token.principal().getId()));
+            try {
+                redisTemplate.opsForValue().set(STALE_KEY_PREFIX + userId,
+                        String.valueOf(System.currentTimeMillis()),
+                        tokenProvider.getExpirationMs(), TimeUnit.MILLISECONDS);
+            } catch (DataAccessException e) {
+                log.warn("Failed to mark tokens stale for user {}: {}", userId, e.getMessage());
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private record VerifiedToken(UserDetailsImpl principal, long expiresAt) {
+    }
+
+    private UserDetailsImpl toPrincipal(Claims claims) {
+        Long userId = claims.get(JwtTokenProvider.CLAIM_USER_ID, Long.class);
+        String role = claims.get(JwtTokenProvider.CLAIM_ROLE, String.class);
+
+        // Tokens issued before ids/roles were embedded, or whose claims went stale, reload the user
+        if (userId == null || role == null || isStale(userId, claims.getIssuedAt())) {
+            return (UserDetailsImpl) userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        return UserDetailsImpl.fromClaims(userId, claims.getSubject(), role);
+    }
+
+    private boolean isStale(Long userId, Date issuedAt) {
+        try {
+            String staleSince = redisTemplate.opsForValue().get(STALE_KEY_PREFIX + userId);
+            // iat has second precision, so a token from the same second counts as stale - costs one reload
+            return staleSince != null && (issuedAt == null || issuedAt.getTime() <= Long.parseLong(staleSince));
+        } catch (DataAccessException e) {
+            log.warn("Stale-claims check failed for user {}: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -40,6 +40,26 @@ public class UserDetailsImpl implements UserDetails {
         );
     }
 
+    /**
+     * Principal rebuilt from verified token claims - no password, email or name
+     */
+    public static UserDetailsImpl fromClaims(Long id, String phone, String role) {
+        return new UserDetailsImpl(
+                id,
+                phone,
+                null,
+                null,
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role))
+        );
+    }
+
+    // Role name without the ROLE_ prefix
+    @JsonIgnore
+    public String getRole() {
+        return authorities.iterator().next().getAuthority().substring("ROLE_".length());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -30,6 +30,7 @@ public class AdminService {
     private final UserRepository userRepository;
     private final DeliveryPartnerRepository partnerRepository;
     private final PaymentRepository paymentRepository;
+    private final CustomerEligibilityService eligibilityService;
 
 
     /**
@@ -129,10 +130,16 @@ public class AdminService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
+        OrderStatus previousStatus = order.getStatus();
         OrderStatus newStatus = OrderStatus.valueOf(status);
         order.setStatus(newStatus);
         Order updated = orderRepository.save(order);
 
+        // Cancelling (or un-cancelling) can change first-order coupon eligibility
+        if (previousStatus == OrderStatus.CANCELLED || newStatus == OrderStatus.CANCELLED) {
+            eligibilityService.evict(order.getCustomer().getId());
+        }
+
         log.info("Order status updated successfully");
         return mapToOrderResponse(updated);
     }
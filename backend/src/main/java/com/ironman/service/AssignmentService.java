@@ -2,6 +2,7 @@ package com.ironman.service;
 
 import com.ironman.dto.response.AssignmentResponse;
 import com.ironman.exception.BadRequestException;
+import com.ironman.exception.ConflictException;
 import com.ironman.exception.ResourceNotFoundException;
 import com.ironman.model.*;
 import com.ironman.repository.AssignmentRepository;
@@ -9,6 +10,7 @@ import com.ironman.repository.DeliveryPartnerRepository;
 import com.ironman.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +23,10 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AssignmentService {
 
+    // Assignments that still block a new assignment of the same type for the order
+    static final List<AssignmentStatus> ACTIVE_STATUSES =
+            List.of(AssignmentStatus.ASSIGNED, AssignmentStatus.ACCEPTED);
+
     private final AssignmentRepository assignmentRepository;
     private final OrderRepository orderRepository;
     private final DeliveryPartnerRepository partnerRepository;
@@ -37,36 +43,14 @@ public class AssignmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
         // Check order status
-        if (order.getStatus() != OrderStatus.PENDING && order.getStatus() != OrderStatus.PICKUP_ASSIGNED) {
+        List<OrderStatus> assignableStatuses = List.of(OrderStatus.PENDING, OrderStatus.PICKUP_ASSIGNED);
+        if (!assignableStatuses.contains(order.getStatus())) {
             throw new BadRequestException("Order is not in PENDING status. Current: " + order.getStatus());
         }
 
-        // Validate partner
-        DeliveryPartner partner = partnerRepository.findById(partnerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Partner not found"));
-
-        // Check partner is approved and available
-        if (partner.getStatus() != PartnerStatus.APPROVED) {
-            throw new BadRequestException("Partner is not approved. Status: " + partner.getStatus());
-        }
-
-        if (!partner.getIsAvailable()) {
-            throw new BadRequestException("Partner is not available");
-        }
-
-        // Create assignment
-        Assignment assignment = new Assignment();
-        assignment.setOrder(order);
-        assignment.setPartner(partner);
-        assignment.setAssignmentType("PICKUP");
-        assignment.setStatus(AssignmentStatus.ASSIGNED);
-        assignment.setAssignedAt(LocalDateTime.now());
-
-        Assignment saved = assignmentRepository.save(assignment);
+        DeliveryPartner partner = findAssignablePartner(partnerId);
 
-        // Update order status
-        order.setStatus(OrderStatus.PICKUP_ASSIGNED);
-        orderRepository.save(order);
+        Assignment saved = createAssignment(order, partner, "PICKUP", assignableStatuses, OrderStatus.PICKUP_ASSIGNED);
 
         log.info("Pickup assignment created: {}", saved.getId());
         return mapToAssignmentResponse(saved);
@@ -88,31 +72,10 @@ public class AssignmentService {
             throw new BadRequestException("Order is not ready for delivery. Current: " + order.getStatus());
         }
 
-        // Validate partner
-        DeliveryPartner partner = partnerRepository.findById(partnerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Partner not found"));
+        DeliveryPartner partner = findAssignablePartner(partnerId);
 
-        if (partner.getStatus() != PartnerStatus.APPROVED) {
-            throw new BadRequestException("Partner is not approved");
-        }
-
-        if (!partner.getIsAvailable()) {
-            throw new BadRequestException("Partner is not available");
-        }
-
-        // Create assignment
-        Assignment assignment = new Assignment();
-        assignment.setOrder(order);
-        assignment.setPartner(partner);
-        assignment.setAssignmentType("DELIVERY");
-        assignment.setStatus(AssignmentStatus.ASSIGNED);
-        assignment.setAssignedAt(LocalDateTime.now());
-
-        Assignment saved = assignmentRepository.save(assignment);
-
-        // Update order status
-        order.setStatus(OrderStatus.OUT_FOR_DELIVERY);
-        orderRepository.save(order);
+        Assignment saved = createAssignment(order, partner, "DELIVERY",
+                List.of(OrderStatus.READY_FOR_DELIVERY), OrderStatus.OUT_FOR_DELIVERY);
 
         log.info("Delivery assignment created: {}", saved.getId());
         return mapToAssignmentResponse(saved);
@@ -129,20 +92,15 @@ public class AssignmentService {
         DeliveryPartner partner = partnerRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Partner profile not found"));
 
-        // Get assignment
-        Assignment assignment = assignmentRepository.findByIdAndPartnerId(assignmentId, partner.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found or not assigned to you"));
+        int updated = assignmentRepository.acceptIfAssigned(assignmentId, partner.getId(), LocalDateTime.now());
+        Assignment assignment = findPartnerAssignment(assignmentId, partner.getId());
 
-        if (assignment.getStatus() != AssignmentStatus.ASSIGNED) {
-            throw new BadRequestException("Assignment cannot be accepted. Current status: " + assignment.getStatus());
+        if (updated == 0) {
+            throw new ConflictException("Assignment cannot be accepted. Current status: " + assignment.getStatus());
         }
 
-        assignment.setStatus(AssignmentStatus.ACCEPTED);
-        assignment.setAcceptedAt(LocalDateTime.now());
-        Assignment updated = assignmentRepository.save(assignment);
-
         log.info("Assignment accepted by partner");
-        return mapToAssignmentResponse(updated);
+        return mapToAssignmentResponse(assignment);
     }
 
     /**
@@ -155,28 +113,24 @@ public class AssignmentService {
         DeliveryPartner partner = partnerRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Partner profile not found"));
 
-        Assignment assignment = assignmentRepository.findByIdAndPartnerId(assignmentId, partner.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found"));
+        LocalDateTime now = LocalDateTime.now();
+        int updated = assignmentRepository.rejectIfAssigned(assignmentId, partner.getId(), reason, now);
+        Assignment assignment = findPartnerAssignment(assignmentId, partner.getId());
 
-        if (assignment.getStatus() != AssignmentStatus.ASSIGNED) {
-            throw new BadRequestException("Assignment cannot be rejected. Current status: " + assignment.getStatus());
+        if (updated == 0) {
+            throw new ConflictException("Assignment cannot be rejected. Current status: " + assignment.getStatus());
         }
 
-        assignment.setStatus(AssignmentStatus.REJECTED);
-        assignment.setNotes(reason);
-        Assignment updated = assignmentRepository.save(assignment);
-
-        // Reset order status
-        Order order = assignment.getOrder();
+        // Reset order status, unless something else already moved the order on
+        Long orderId = assignment.getOrder().getId();
         if ("PICKUP".equals(assignment.getAssignmentType())) {
-            order.setStatus(OrderStatus.PENDING);
+            orderRepository.updateStatusIfCurrent(orderId, OrderStatus.PICKUP_ASSIGNED, OrderStatus.PENDING, now);
         } else {
-            order.setStatus(OrderStatus.READY_FOR_DELIVERY);
+            orderRepository.updateStatusIfCurrent(orderId, OrderStatus.OUT_FOR_DELIVERY, OrderStatus.READY_FOR_DELIVERY, now);
         }
-        orderRepository.save(order);
 
         log.info("Assignment rejected by partner");
-        return mapToAssignmentResponse(updated);
+        return mapToAssignmentResponse(assignment);
     }
 
     /**
@@ -189,29 +143,22 @@ public class AssignmentService {
         DeliveryPartner partner = partnerRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Partner profile not found"));
 
-        Assignment assignment = assignmentRepository.findByIdAndPartnerId(assignmentId, partner.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found"));
+        LocalDateTime now = LocalDateTime.now();
+        int updated = assignmentRepository.completeIfAccepted(
+                assignmentId, partner.getId(), "PICKUP", AssignmentStatus.PICKED_UP, now);
+        Assignment assignment = findPartnerAssignment(assignmentId, partner.getId());
 
-        if (!"PICKUP".equals(assignment.getAssignmentType())) {
-            throw new BadRequestException("This is not a pickup assignment");
+        if (updated == 0) {
+            rejectCompletion(assignment, "PICKUP");
         }
 
-        if (assignment.getStatus() != AssignmentStatus.ACCEPTED) {
-            throw new BadRequestException("Assignment must be accepted first");
+        // Update order - rolls the completion back if the order moved on (e.g. was cancelled) meanwhile
+        if (orderRepository.markPickedUp(assignment.getOrder().getId(), now) == 0) {
+            throw new ConflictException("Order is no longer awaiting pickup. Please refresh");
         }
 
-        assignment.setStatus(AssignmentStatus.PICKED_UP);
-        assignment.setCompletedAt(LocalDateTime.now());
-        Assignment updated = assignmentRepository.save(assignment);
-
-        // Update order
-        Order order = assignment.getOrder();
-        order.setStatus(OrderStatus.PICKED_UP);
-        order.setActualPickupTime(LocalDateTime.now());
-        orderRepository.save(order);
-
         log.info("Pickup completed successfully");
-        return mapToAssignmentResponse(updated);
+        return mapToAssignmentResponse(assignment);
     }
 
     /**
@@ -224,37 +171,29 @@ public class AssignmentService {
         DeliveryPartner partner = partnerRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Partner profile not found"));
 
-        Assignment assignment = assignmentRepository.findByIdAndPartnerId(assignmentId, partner.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found"));
+        LocalDateTime now = LocalDateTime.now();
+        int updated = assignmentRepository.completeIfAccepted(
+                assignmentId, partner.getId(), "DELIVERY", AssignmentStatus.DELIVERED, now);
+        Assignment assignment = findPartnerAssignment(assignmentId, partner.getId());
 
-        if (!"DELIVERY".equals(assignment.getAssignmentType())) {
-            throw new BadRequestException("This is not a delivery assignment");
+        if (updated == 0) {
+            rejectCompletion(assignment, "DELIVERY");
         }
 
-        if (assignment.getStatus() != AssignmentStatus.ACCEPTED) {
-            throw new BadRequestException("Assignment must be accepted first");
+        // Update order - rolls the completion back if the order moved on meanwhile
+        if (orderRepository.markDelivered(assignment.getOrder().getId(), now) == 0) {
+            throw new ConflictException("Order is no longer out for delivery. Please refresh");
         }
 
-        assignment.setStatus(AssignmentStatus.DELIVERED);
-        assignment.setCompletedAt(LocalDateTime.now());
-        Assignment updated = assignmentRepository.save(assignment);
-
-        // Update order
-        Order order = assignment.getOrder();
-        order.setStatus(OrderStatus.DELIVERED);
-        order.setActualDeliveryTime(LocalDateTime.now());
-        orderRepository.save(order);
-
         // Increment partner's delivery count
-        partner.setTotalDeliveries(partner.getTotalDeliveries() + 1);
-        partnerRepository.save(partner);
+        partnerRepository.incrementTotalDeliveries(partner.getId());
 
         log.info("Delivery completed successfully");
-        return mapToAssignmentResponse(updated);
+        return mapToAssignmentResponse(assignment);
     }
 
     /**
-     * Get all assignments for a partner
+     * Get all assignments for a partner (routed stops come back in driving order)
      */
     public List<AssignmentResponse> getPartnerAssignments(Long userId, String status) {
         log.info("Fetching assignments for partner user: {}", userId);
@@ -264,10 +203,10 @@ public class AssignmentService {
 
         List<Assignment> assignments;
         if (status != null && !status.isEmpty()) {
-            assignments = assignmentRepository.findByPartnerIdAndStatus(
+            assignments = assignmentRepository.findByPartnerIdAndStatusInRouteOrder(
                     partner.getId(), AssignmentStatus.valueOf(status));
         } else {
-            assignments = assignmentRepository.findByPartnerIdOrderByCreatedAtDesc(partner.getId());
+            assignments = assignmentRepository.findByPartnerIdInRouteOrder(partner.getId());
         }
 
         return assignments.stream()
@@ -292,7 +231,67 @@ public class AssignmentService {
     // PRIVATE HELPERS
     // =============================================
 
-    private AssignmentResponse mapToAssignmentResponse(Assignment assignment) {
+    private DeliveryPartner findAssignablePartner(Long partnerId) {
+        DeliveryPartner partner = partnerRepository.findById(partnerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Partner not found"));
+
+        // Check partner is approved and available
+        if (partner.getStatus() != PartnerStatus.APPROVED) {
+            throw new BadRequestException("Partner is not approved. Status: " + partner.getStatus());
+        }
+
+        if (!partner.getIsAvailable()) {
+            throw new BadRequestException("Partner is not available");
+        }
+
+        return partner;
+    }
+
+    /**
+     * Claim the order and insert the assignment. The order claim is a compare-and-set on the
+     * version we read, so of two concurrent dispatchers only one gets past it; the partial unique
+     * index on active assignments per (order, type) backs this up at the database level.
+     */
+    private Assignment createAssignment(Order order, DeliveryPartner partner, String assignmentType,
+                                        List<OrderStatus> allowedStatuses, OrderStatus newStatus) {
+        if (assignmentRepository.existsByOrderIdAndAssignmentTypeAndStatusIn(
+                order.getId(), assignmentType, ACTIVE_STATUSES)) {
+            throw new ConflictException("Order already has an active " + assignmentType + " assignment");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = orderRepository.claimStatus(order.getId(), order.getVersion(), allowedStatuses, newStatus, now);
+        if (claimed == 0) {
+            throw new ConflictException("Order was updated by another request. Please retry");
+        }
+
+        Assignment assignment = new Assignment();
+        assignment.setOrder(order);
+        assignment.setPartner(partner);
+        assignment.setAssignmentType(assignmentType);
+        assignment.setStatus(AssignmentStatus.ASSIGNED);
+        assignment.setAssignedAt(now);
+
+        try {
+            return assignmentRepository.saveAndFlush(assignment);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("Order already has an active " + assignmentType + " assignment");
+        }
+    }
+
+    private Assignment findPartnerAssignment(Long assignmentId, Long partnerId) {
+        return assignmentRepository.findByIdAndPartnerId(assignmentId, partnerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Assignment not found or not assigned to you"));
+    }
+
+    private void rejectCompletion(Assignment assignment, String expectedType) {
+        if (!expectedType.equals(assignment.getAssignmentType())) {
+            throw new BadRequestException("This is not a " + expectedType.toLowerCase() + " assignment");
+        }
+        throw new BadRequestException("Assignment must be accepted first. Current status: " + assignment.getStatus());
+    }
+
+    AssignmentResponse mapToAssignmentResponse(Assignment assignment) {
         Order order = assignment.getOrder();
         DeliveryPartner partner = assignment.getPartner();
 
@@ -311,6 +310,8 @@ public class AssignmentService {
                 .acceptedAt(assignment.getAcceptedAt())
                 .completedAt(assignment.getCompletedAt())
                 .notes(assignment.getNotes())
+                .routeId(assignment.getRouteId())
+                .routeSequence(assignment.getRouteSequence())
                 .createdAt(assignment.getCreatedAt())
                 .build();
     }
@@ -4,19 +4,19 @@ import com.ironman.dto.request.LoginRequest;
 import com.ironman.dto.request.RegisterRequest;
 import com.ironman.dto.response.AuthResponse;
 import com.ironman.exception.BadRequestException;
-import com.ironman.exception.ResourceNotFoundException;
 import com.ironman.model.User;
 import com.ironman.repository.UserRepository;
+import com.ironman.security.CredentialVerificationService;
 import com.ironman.security.JwtTokenProvider;
+import com.ironman.security.UserDetailsImpl;
+import com.ironman.util.SecurityAuditLogger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
@@ -24,12 +24,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final CredentialVerificationService credentialService;
     private final JwtTokenProvider tokenProvider;
-    private final AuthenticationManager authenticationManager;
+    private final SecurityAuditLogger auditLogger;
 
-    @Transactional
-    public AuthResponse register(RegisterRequest request) {
+    /**
+     * Hashing runs on the credential pool with no transaction open; the insert runs in its own
+     * once the hash is ready
+     */
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
         log.info("Registering new user with phone: {}", request.getPhone());
 
         // Check if phone already exists
@@ -44,63 +47,70 @@ public class AuthService {
             }
         }
 
-        // Create new user
-        User user = new User();
-        user.setPhone(request.getPhone());
-        user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
-        user.setFullName(request.getFullName());
-        user.setRole(request.getRole());
-        user.setIsActive(true);
-        user.setIsVerified(false);
-
-        User savedUser = userRepository.save(user);
-        log.info("User registered successfully with ID: {}", savedUser.getId());
-
-        // Generate JWT token
-        String token = tokenProvider.generateTokenFromPhone(savedUser.getPhone());
-
-        return AuthResponse.builder()
-                .accessToken(token)
-                .tokenType("Bearer")
-                .userId(savedUser.getId())
-                .phone(savedUser.getPhone())
-                .email(savedUser.getEmail())
-                .fullName(savedUser.getFullName())
-                .role(savedUser.getRole().name())
-                .build();
+        return credentialService.encode(request.getPassword())
+                .thenApply(passwordHash -> {
+                    // Create new user
+                    User user = new User();
+                    user.setPhone(request.getPhone());
+                    user.setEmail(request.getEmail());
+                    user.setPasswordHash(passwordHash);
+                    user.setFullName(request.getFullName());
+                    user.setRole(request.getRole());
+                    user.setIsActive(true);
+                    user.setIsVerified(false);
+
+                    User savedUser = userRepository.save(user);
+                    log.info("User registered successfully with ID: {}", savedUser.getId());
+
+                    // Generate JWT token
+                    String token = tokenProvider.generateToken(UserDetailsImpl.build(savedUser));
+
+                    return AuthResponse.builder()
+                            .accessToken(token)
+                            .tokenType("Bearer")
+                            .userId(savedUser.getId())
+                            .phone(savedUser.getPhone())
+                            .email(savedUser.getEmail())
+                            .fullName(savedUser.getFullName())
+                            .role(savedUser.getRole().name())
+                            .build();
+                });
     }
 
-    public AuthResponse login(LoginRequest request) {
+    /**
+     * Password check runs on the credential pool; the request thread is released meanwhile
+     */
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
         log.info("Login attempt for phone: {}", request.getPhone());
-
-        // Authenticate user
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getPhone(),
-                        request.getPassword()
-                )
-        );
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-
-        // Generate JWT token
-        String token = tokenProvider.generateToken(authentication);
-
-        // Get user details
-        User user = userRepository.findByPhone(request.getPhone())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        log.info("User logged in successfully: {}", user.getPhone());
-
-        return AuthResponse.builder()
-                .accessToken(token)
-                .tokenType("Bearer")
-                .userId(user.getId())
-                .phone(user.getPhone())
-                .email(user.getEmail())
-                .fullName(user.getFullName())
-                .role(user.getRole().name())
-                .build();
+        String clientIp = auditLogger.currentRequestIp();
+
+        return credentialService.authenticate(request.getPhone(), request.getPassword())
+                .handle((authentication, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        if (cause instanceof AuthenticationException) {
+                            auditLogger.logAuthAttempt(request.getPhone(), false, clientIp);
+                        }
+                        throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+                    }
+                    auditLogger.logAuthAttempt(request.getPhone(), true, clientIp);
+
+                    // Principal was loaded by the authentication provider - no second user lookup
+                    UserDetailsImpl user = (UserDetailsImpl) authentication.getPrincipal();
+                    String token = tokenProvider.generateToken(user);
+
+                    log.info("User logged in successfully: {}", user.getPhone());
+
+                    return AuthResponse.builder()
+                            .accessToken(token)
+                            .tokenType("Bearer")
+                            .userId(user.getId())
+                            .phone(user.getPhone())
+                            .email(user.getEmail())
+                            .fullName(user.getFullName())
+                            .role(user.getRole())
+                            .build();
+                });
     }
-}
\ No newline at end of file
+}
@@ -1,62 +1,199 @@
 package com.ironman.service;
 
+import com.ironman.cache.EntityCacheRegions;
+import com.ironman.cache.TwoTierCacheManager;
+import com.ironman.catalog.CatalogSnapshot;
 import com.ironman.model.AddOn;
 import com.ironman.model.ClothType;
 import com.ironman.model.LaundryService;
 import com.ironman.repository.AddOnRepository;
 import com.ironman.repository.ClothTypeRepository;
 import com.ironman.repository.LaundryServiceRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
-
 
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.Callable;
 
+/**
+ * Serves the public catalog from an in-memory snapshot loaded at startup.
+ * The snapshot version lives in Redis so every instance converges on the same version (and ETag)
+ * after a refresh; loads go through the catalog caches, so a fleet restart mostly hits Redis.
+ * A snapshot older than max-age-seconds is reloaded from the database, bounding staleness when a
+ * version bump is missed (e.g. data changed without refresh(), or Redis was unavailable).
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CatalogService {
 
+    private static final String VERSION_KEY = "catalog:version";
+    private static final String ALL_KEY = "all";
+    private static final List<String> CATALOG_CACHES = List.of("services", "clothTypes", "addons");
+
     private final LaundryServiceRepository laundryServiceRepository;
     private final ClothTypeRepository clothTypeRepository;
     private final AddOnRepository addOnRepository;
+    private final TwoTierCacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final EntityCacheRegions entityCacheRegions;
 
-    // --- Laundry Services ---
+    @Value("${app.catalog.max-age-seconds:600}")
+    private long maxAgeSeconds;
 
-    @Cacheable(value = "services", key = "'all'")
-    public List<LaundryService> getAllServices() {
-        log.info("Fetching all services from database");
+    private volatile CatalogSnapshot snapshot;
+
+    @PostConstruct
+    public void warmUp() {
+        try {
+            load(currentRemoteVersion());
+        } catch (Exception e) {
+            // Readers load on first use instead
+            log.warn("Catalog warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Current snapshot; only loads here if warm-up failed
+     */
+    public CatalogSnapshot getSnapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                load(currentRemoteVersion());
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Reload after catalog data changed: drop cached lists and entities, bump the shared version, rebuild.
+     * Other instances pick the new version up in syncVersion().
+     */
+    public synchronized CatalogSnapshot refresh() {
+        CATALOG_CACHES.forEach(this::evict);
+        EntityCacheRegions.CATALOG.forEach(entityCacheRegions::evictLocal);
+
+        long version;
+        try {
+            Long next = redisTemplate.opsForValue().increment(VERSION_KEY);
+            version = next != null ? next : localNextVersion();
+        } catch (Exception e) {
+            log.warn("Catalog version bump failed, using local version: {}", e.getMessage());
+            version = localNextVersion();
+        }
+        return load(version);
+    }
 
+    /**
+     * Reload when another instance has published a newer version, or when the snapshot is too old
+     */
+    public synchronized void syncVersion() {
+        CatalogSnapshot current = snapshot;
+        long local = current != null ? current.getVersion() : 0;
+        long remote = currentRemoteVersion();
+        if (current == null || remote > local) {
+            log.info("Catalog version {} -> {}", local, remote);
+            if (current != null) {
+                // Our local tier may still hold the lists the old snapshot was built from
+                CATALOG_CACHES.forEach(name -> cacheManager.evictLocal(name, ALL_KEY));
+                EntityCacheRegions.CATALOG.forEach(entityCacheRegions::evictLocal);
+            }
+            load(remote);
+        } else if (current.getLoadedAt().isBefore(Instant.now().minusSeconds(maxAgeSeconds))) {
+            log.info("Catalog snapshot v{} is older than {}s, reloading from the database", local, maxAgeSeconds);
+            EntityCacheRegions.CATALOG.forEach(entityCacheRegions::evictLocal);
+            snapshot = new CatalogSnapshot(remote,
+                    laundryServiceRepository.findAll(),
+                    clothTypeRepository.findAll(),
+                    addOnRepository.findByIsActiveTrue());
+        }
+    }
+
+    // --- Laundry Services ---
 
-        return laundryServiceRepository.findAll();
+    public List<LaundryService> getAllServices() {
+        return getSnapshot().getServices();
     }
 
     public List<LaundryService> getServicesByCategory(String category) {
-        log.info("Fetching services by category: {}", category);
-        return laundryServiceRepository.findByCategoryAndIsActiveTrue(category);
+        return getSnapshot().getServicesByCategory(category);
     }
 
     // --- Cloth Types ---
 
-    @Cacheable(value = "clothTypes", key = "'all'")
     public List<ClothType> getAllClothTypes() {
-        log.info("Fetching all cloth types from database");
-
-        return clothTypeRepository.findAll();
+        return getSnapshot().getClothTypes();
     }
 
     public List<ClothType> getClothTypesByCategory(String category) {
-        log.info("Fetching cloth types by category: {}", category);
-        return clothTypeRepository.findByCategoryAndIsActiveTrue(category);
+        return getSnapshot().getClothTypesByCategory(category);
     }
 
     // --- Add-ons ---
-    @Cacheable(value = "addons", key = "'all'")
+
     public List<AddOn> getAllAddOns() {
-        log.info("Fetching all active add-ons");
-        return addOnRepository.findByIsActiveTrue();
+        return getSnapshot().getAddOns();
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private CatalogSnapshot load(long version) {
+        log.info("Loading catalog snapshot v{}", version);
+        CatalogSnapshot loaded = new CatalogSnapshot(version,
+                cached("services", laundryServiceRepository::findAll),
+                cached("clothTypes", clothTypeRepository::findAll),
+                cached("addons", addOnRepository::findByIsActiveTrue));
+        snapshot = loaded;
+        return loaded;
+    }
+
+    /**
+     * Shared version, seeded from the local one if the key is missing (e.g. Redis was flushed)
+     */
+    private long currentRemoteVersion() {
+        long local = snapshot != null ? snapshot.getVersion() : 0;
+        try {
+            redisTemplate.opsForValue().setIfAbsent(VERSION_KEY, String.valueOf(Math.max(local, 1)));
+            String value = redisTemplate.opsForValue().get(VERSION_KEY);
+            return value != null ? Long.parseLong(value) : Math.max(local, 1);
+        } catch (Exception e) {
+            log.warn("Catalog version lookup failed: {}", e.getMessage());
+            return Math.max(local, 1);
+        }
+    }
+
+    private long localNextVersion() {
+        return snapshot != null ? snapshot.getVersion() + 1 : 1;
+    }
+
+    private <T> List<T> cached(String cacheName, Callable<List<T>> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            try {
+                return loader.call();
+            } catch (Exception e) {
+                throw new IllegalStateException("Catalog load failed", e);
+            }
+        }
+        return cache.get(ALL_KEY, loader);
+    }
+
+    private void evict(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(ALL_KEY);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.ironman.service;
 
+import com.ironman.cache.EntityCacheRegions;
 import com.ironman.dto.request.ApplyCouponRequest;
 import com.ironman.dto.request.CouponRequest;
 import com.ironman.dto.response.CouponResponse;
@@ -29,6 +30,8 @@ public class CouponService {
     private final CouponRepository couponRepository;
     private final CouponUsageRepository couponUsageRepository;
     private final OrderRepository orderRepository;
+    private final EntityCacheRegions entityCacheRegions;
+    private final CustomerEligibilityService eligibilityService;
 
     /**
      * Create a new coupon (Admin)
@@ -64,6 +67,8 @@ public class CouponService {
         coupon.setFirstOrderOnly(request.getFirstOrderOnly());
 
         Coupon saved = couponRepository.save(coupon);
+        // Other instances may have cached "no such code"
+        entityCacheRegions.evictEverywhere(EntityCacheRegions.COUPONS);
         log.info("Coupon created successfully: {}", saved.getCode());
 
         return mapToCouponResponse(saved);
@@ -111,12 +116,7 @@ public class CouponService {
 
         // Check first order only
         if (coupon.getFirstOrderOnly()) {
-            long userOrderCount = orderRepository.findAll().stream()
-                    .filter(o -> o.getCustomer().getId().equals(userId))
-                    .filter(o -> o.getStatus() != OrderStatus.CANCELLED)
-                    .count();
-
-            if (userOrderCount > 0) {
+            if (eligibilityService.getCouponProfile(userId).hasPlacedOrder()) {
                 return buildInvalidResponse(couponCode, "This coupon is valid only for first order");
             }
         }
@@ -184,9 +184,14 @@ public class CouponService {
         usage.setDiscountAmount(validation.getDiscountAmount());
         couponUsageRepository.save(usage);
 
-        // Increment usage count
-        coupon.setCurrentUsageCount(coupon.getCurrentUsageCount() + 1);
-        couponRepository.save(coupon);
+        // Increment usage count under the row lock, so the limit holds across instances
+        // even when their cached copy of the coupon is behind
+        Integer usageCount = couponRepository.lockUsageCount(coupon.getId());
+        int used = usageCount != null ? usageCount : 0;
+        if (coupon.getMaxUsageCount() != null && used >= coupon.getMaxUsageCount()) {
+            throw new BadRequestException("Coupon usage limit reached");
+        }
+        coupon.setCurrentUsageCount(used + 1);
 
         log.info("Coupon applied successfully to order");
     }
@@ -259,6 +264,7 @@ public class CouponService {
         coupon.setFirstOrderOnly(request.getFirstOrderOnly());
 
         Coupon updated = couponRepository.save(coupon);
+        entityCacheRegions.evictEverywhere(EntityCacheRegions.COUPONS);
         log.info("Coupon updated successfully");
 
         return mapToCouponResponse(updated);
@@ -276,6 +282,7 @@ public class CouponService {
 
         coupon.setIsActive(false);
         Coupon updated = couponRepository.save(coupon);
+        entityCacheRegions.evictEverywhere(EntityCacheRegions.COUPONS);
 
         log.info("Coupon deactivated");
         return mapToCouponResponse(updated);
@@ -0,0 +1,41 @@
+package com.ironman.service;
+
+import com.ironman.model.OrderStatus;
+import com.ironman.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per-customer facts that coupon rules check, cached so a rule check costs a cache lookup.
+ * Evicted (after commit) whenever an order of the customer is placed or cancelled.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerEligibilityService {
+
+    public static final String CACHE = "customerProfiles";
+
+    private final OrderRepository orderRepository;
+
+    public record CouponProfile(Long userId, boolean hasPlacedOrder) {
+    }
+
+    /**
+     * One indexed EXISTS on (customer_id, status), however many orders the customer has
+     */
+    @Cacheable(value = CACHE, key = "#userId")
+    public CouponProfile getCouponProfile(Long userId) {
+        log.debug("Loading coupon profile for user {}", userId);
+        boolean hasPlacedOrder = orderRepository.existsByCustomerIdAndStatusNot(userId, OrderStatus.CANCELLED);
+        return new CouponProfile(userId, hasPlacedOrder);
+    }
+
+    @CacheEvict(value = CACHE, key = "#userId")
+    public void evict(Long userId) {
+        log.debug("Evicting coupon profile for user {}", userId);
+    }
+}
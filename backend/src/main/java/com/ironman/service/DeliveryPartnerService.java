@@ -7,9 +7,11 @@ import com.ironman.dto.response.PartnerResponse;
 import com.ironman.exception.BadRequestException;
 import com.ironman.exception.ResourceNotFoundException;
 import com.ironman.model.*;
+import com.ironman.repository.AssignmentRepository;
 import com.ironman.repository.DeliveryPartnerRepository;
 import com.ironman.repository.LocationTrackingRepository;
 import com.ironman.repository.UserRepository;
+import com.ironman.security.TokenPrincipalResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,6 +28,8 @@ public class DeliveryPartnerService {
     private final DeliveryPartnerRepository partnerRepository;
     private final UserRepository userRepository;
     private final LocationTrackingRepository locationTrackingRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final TokenPrincipalResolver principalResolver;
 
     /**
      * Register as a delivery partner
@@ -56,6 +60,8 @@ public class DeliveryPartnerService {
         // Update user role to DELIVERY_PARTNER
         user.setRole(UserRole.DELIVERY_PARTNER);
         userRepository.save(user);
+        // Existing tokens still say CUSTOMER - make them reload the user
+        principalResolver.markClaimsStale(user.getId());
 
         // Create partner profile
         DeliveryPartner partner = new DeliveryPartner();
@@ -146,9 +152,7 @@ public class DeliveryPartnerService {
 
         // Link to assignment if provided
         if (request.getAssignmentId() != null) {
-            Assignment assignment = new Assignment();
-            assignment.setId(request.getAssignmentId());
-            tracking.setAssignment(assignment);
+            tracking.setAssignment(assignmentRepository.getReferenceById(request.getAssignmentId()));
         }
 
         LocationTracking saved = locationTrackingRepository.save(tracking);
@@ -224,20 +228,6 @@ public class DeliveryPartnerService {
         return mapToPartnerResponse(updated);
     }
 
-    /**
-     * Get partner's location history
-     */
-    public List<LocationResponse> getLocationHistory(Long partnerId) {
-        log.info("Fetching location history for partner: {}", partnerId);
-
-        List<LocationTracking> locations = locationTrackingRepository
-                .findByPartnerIdOrderByRecordedAtDesc(partnerId);
-
-        return locations.stream()
-                .map(this::mapToLocationResponse)
-                .collect(Collectors.toList());
-    }
-
     // =============================================
     // PRIVATE HELPERS
     // =============================================
@@ -1,23 +1,22 @@
 package com.ironman.service;
 
 import com.ironman.dto.request.EmailRequest;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.ironman.email.EmailDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +24,7 @@ import java.util.Map;
 public class EmailService {
 
     private final JavaMailSender mailSender;
-    private final SpringTemplateEngine templateEngine;
+    private final EmailDispatcher emailDispatcher;
 
     @Value("${app.email.from}")
     private String fromEmail;
@@ -54,34 +53,37 @@ public class EmailService {
     }
 
     /**
-     * Send HTML email with template
+     * Send HTML email with template (asynchronous, failures are logged)
      */
     public void sendHtmlEmail(EmailRequest request) {
-        log.info("Sending HTML email to: {}", request.getTo());
+        log.info("Queueing HTML email to: {}", request.getTo());
+        emailDispatcher.submit(request);
+    }
 
+    /**
+     * Send HTML email with template and wait until the SMTP server accepted it.
+     * Failures propagate so the outbox dispatcher can retry.
+     */
+    public void deliverHtmlEmail(EmailRequest request) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(request.getTo());
-            helper.setSubject(request.getSubject());
-
-            // Process template with variables
-            Context context = new Context();
-            context.setVariables(request.getVariables());
-            context.setVariable("appName", appName);
-
-            String htmlContent = templateEngine.process(request.getTemplateName(), context);
-            helper.setText(htmlContent, true);
-
-            mailSender.send(message);
-            log.info("HTML email sent successfully to: {}", request.getTo());
-        } catch (MessagingException e) {
-            log.error("Error sending HTML email to {}: {}", request.getTo(), e.getMessage());
+            emailDispatcher.submit(request).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
         }
     }
 
+    /**
+     * Send many HTML emails (campaigns, end-of-day receipts) through the batched pipeline
+     *
+     * @return completes when every email was accepted or failed
+     */
+    public CompletableFuture<Void> sendBulkHtmlEmails(List<EmailRequest> requests) {
+        log.info("Queueing {} HTML emails", requests.size());
+        return CompletableFuture.allOf(requests.stream()
+                .map(emailDispatcher::submit)
+                .toArray(CompletableFuture[]::new));
+    }
+
     /**
      * Send order confirmation email
      */
@@ -89,7 +91,15 @@ public class EmailService {
                                            String orderNumber, BigDecimal totalAmount,
                                            String pickupDate) {
         log.info("Sending order confirmation email for order: {}", orderNumber);
+        sendHtmlEmail(orderConfirmationEmail(toEmail, customerName, orderNumber, totalAmount, pickupDate));
+    }
 
+    /**
+     * Build order confirmation email
+     */
+    public EmailRequest orderConfirmationEmail(String toEmail, String customerName,
+                                               String orderNumber, BigDecimal totalAmount,
+                                               String pickupDate) {
         Map<String, Object> variables = new HashMap<>();
         variables.put("customerName", customerName);
         variables.put("orderNumber", orderNumber);
@@ -97,14 +107,12 @@ public class EmailService {
         variables.put("pickupDate", pickupDate);
         variables.put("year", LocalDateTime.now().getYear());
 
-        EmailRequest emailRequest = EmailRequest.builder()
+        return EmailRequest.builder()
                 .to(toEmail)
                 .subject("Order Confirmation - " + orderNumber)
                 .templateName("email/order-confirmation")
                 .variables(variables)
                 .build();
-
-        sendHtmlEmail(emailRequest);
     }
 
     /**
@@ -113,7 +121,14 @@ public class EmailService {
     public void sendPaymentSuccessEmail(String toEmail, String customerName,
                                         String orderNumber, BigDecimal amount) {
         log.info("Sending payment success email for order: {}", orderNumber);
+        sendHtmlEmail(paymentSuccessEmail(toEmail, customerName, orderNumber, amount));
+    }
 
+    /**
+     * Build payment success email
+     */
+    public EmailRequest paymentSuccessEmail(String toEmail, String customerName,
+                                            String orderNumber, BigDecimal amount) {
         Map<String, Object> variables = new HashMap<>();
         variables.put("customerName", customerName);
         variables.put("orderNumber", orderNumber);
@@ -121,14 +136,12 @@ public class EmailService {
         variables.put("paymentDate", LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd MMM yyyy, hh:mm a")));
         variables.put("year", LocalDateTime.now().getYear());
 
-        EmailRequest emailRequest = EmailRequest.builder()
+        return EmailRequest.builder()
                 .to(toEmail)
                 .subject("Payment Received - " + orderNumber)
                 .templateName("email/payment-success")
                 .variables(variables)
                 .build();
-
-        sendHtmlEmail(emailRequest);
     }
 
     /**
@@ -0,0 +1,204 @@
+package com.ironman.service;
+
+import com.ironman.dto.response.LocationResponse;
+import com.ironman.dto.response.LocationTrackResponse;
+import com.ironman.model.Assignment;
+import com.ironman.model.AssignmentStatus;
+import com.ironman.model.LocationTrack;
+import com.ironman.model.LocationTracking;
+import com.ironman.repository.AssignmentRepository;
+import com.ironman.repository.LocationTrackRepository;
+import com.ironman.repository.LocationTrackingRepository;
+import com.ironman.util.TrackCompressor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LocationTrackService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_RECENT_POINTS = 500;
+
+    // Points of these assignments are kept at full resolution
+    private static final List<AssignmentStatus> ACTIVE_STATUSES =
+            List.of(AssignmentStatus.ASSIGNED, AssignmentStatus.ACCEPTED);
+
+    private final LocationTrackRepository trackRepository;
+    private final LocationTrackingRepository locationTrackingRepository;
+    private final AssignmentRepository assignmentRepository;
+
+    @Value("${app.tracking.compaction.tolerance-meters:5}")
+    private double toleranceMeters;
+
+    @Value("${app.tracking.compaction.min-age-minutes:30}")
+    private long minAgeMinutes;
+
+    // Compaction looks back over every retained partition; lookback-days only applies without retention
+    @Value("${app.partitioning.retention-months.location-tracking:3}")
+    private int retentionMonths;
+
+    @Value("${app.tracking.compaction.lookback-days:92}")
+    private long lookbackDays;
+
+    @Value("${app.tracking.recent-window-hours:24}")
+    private long recentWindowHours;
+
+    /**
+     * Get a partner's compacted tracks, newest first
+     */
+    @Transactional(readOnly = true)
+    public Page<LocationTrackResponse> getLocationHistory(Long partnerId, int page, int size) {
+        log.info("Fetching location tracks for partner: {}", partnerId);
+
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return trackRepository.findByPartnerIdOrderByStartedAtDesc(partnerId, pageable)
+                .map(this::mapToTrackResponse);
+    }
+
+    /**
+     * Get a partner's latest raw points (active assignments and anything not yet compacted)
+     */
+    @Transactional(readOnly = true)
+    public List<LocationResponse> getRecentLocations(Long partnerId, int limit) {
+        log.info("Fetching recent locations for partner: {}", partnerId);
+
+        PageRequest pageable = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_RECENT_POINTS));
+        LocalDateTime since = LocalDateTime.now().minusHours(recentWindowHours);
+        return locationTrackingRepository
+                .findByPartnerIdAndRecordedAtGreaterThanEqualOrderByRecordedAtDesc(partnerId, since, pageable).stream()
+                .map(this::mapToLocationResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Ids of finished assignments whose raw points are old enough to compact
+     */
+    public List<Long> findCompactableAssignments(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        return locationTrackingRepository.findCompactableAssignmentIds(
+                ACTIVE_STATUSES, compactionLookback(now), now.minusMinutes(minAgeMinutes),
+                PageRequest.of(0, batchSize));
+    }
+
+    /**
+     * Replace an assignment's raw points older than min-age-minutes with one simplified, encoded track row.
+     * Newer points stay raw at full resolution; they are merged into the track on a later run.
+     *
+     * @return number of raw rows removed
+     */
+    @Transactional
+    public int compactAssignment(Long assignmentId) {
+        Assignment assignment = assignmentRepository.findById(assignmentId).orElse(null);
+        if (assignment == null) {
+            return 0;
+        }
+
+        // Points can't predate the assignment - bounding recorded_at prunes older partitions
+        LocalDateTime since = assignment.getCreatedAt().minusMinutes(1);
+        LocalDateTime before = LocalDateTime.now().minusMinutes(minAgeMinutes);
+        List<LocationTracking> raw = locationTrackingRepository
+                .findByAssignmentIdAndRecordedAtGreaterThanEqualAndRecordedAtLessThanOrderByRecordedAtAsc(
+                        assignmentId, since, before);
+        if (raw.isEmpty()) {
+            return 0;
+        }
+
+        LocationTrack track = trackRepository.findByAssignmentId(assignmentId).orElse(null);
+
+        List<TrackCompressor.TrackPoint> points = new ArrayList<>(raw.size());
+        int rawPointCount = raw.size();
+        if (track != null) {
+            points.addAll(TrackCompressor.decode(track.getPolyline(), track.getTimeOffsets(),
+                    toEpochSecond(track.getStartedAt())));
+            rawPointCount += track.getRawPointCount();
+        } else {
+            track = new LocationTrack();
+            track.setPartner(raw.get(0).getPartner());
+            track.setAssignment(assignment);
+        }
+
+        raw.forEach(point -> points.add(new TrackCompressor.TrackPoint(
+                point.getLatitude().doubleValue(),
+                point.getLongitude().doubleValue(),
+                toEpochSecond(point.getRecordedAt()))));
+        points.sort(Comparator.comparingLong(TrackCompressor.TrackPoint::epochSecond));
+
+        List<TrackCompressor.TrackPoint> simplified = TrackCompressor.simplify(points, toleranceMeters);
+        long start = simplified.get(0).epochSecond();
+        long end = simplified.get(simplified.size() - 1).epochSecond();
+
+        track.setPolyline(TrackCompressor.encodeCoordinates(simplified));
+        track.setTimeOffsets(TrackCompressor.encodeTimestamps(simplified, start));
+        track.setPointCount(simplified.size());
+        track.setRawPointCount(rawPointCount);
+        track.setStartedAt(LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC));
+        track.setEndedAt(LocalDateTime.ofEpochSecond(end, 0, ZoneOffset.UTC));
+        trackRepository.save(track);
+
+        int removed = locationTrackingRepository.deleteByAssignmentIdBetween(assignmentId, since, before);
+
+        log.debug("Compacted assignment {}: {} raw points -> {} track points",
+                assignmentId, removed, simplified.size());
+        return removed;
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    /**
+     * Start of the oldest partition retention keeps (matches PartitionMaintenanceService.applyRetention)
+     */
+    private LocalDateTime compactionLookback(LocalDateTime now) {
+        if (retentionMonths <= 0) {
+            return now.minusDays(lookbackDays);
+        }
+        return YearMonth.from(now).minusMonths(retentionMonths).atDay(1).atStartOfDay();
+    }
+
+    // recordedAt has no zone attached; UTC here only fixes a reversible epoch mapping
+    private long toEpochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private LocationTrackResponse mapToTrackResponse(LocationTrack track) {
+        return LocationTrackResponse.builder()
+                .id(track.getId())
+                .partnerId(track.getPartner().getId())
+                .assignmentId(track.getAssignment().getId())
+                .polyline(track.getPolyline())
+                .timeOffsets(track.getTimeOffsets())
+                .pointCount(track.getPointCount())
+                .rawPointCount(track.getRawPointCount())
+                .startedAt(track.getStartedAt())
+                .endedAt(track.getEndedAt())
+                .build();
+    }
+
+    private LocationResponse mapToLocationResponse(LocationTracking tracking) {
+        return LocationResponse.builder()
+                .id(tracking.getId())
+                .partnerId(tracking.getPartner().getId())
+                .assignmentId(tracking.getAssignment() != null ? tracking.getAssignment().getId() : null)
+                .latitude(tracking.getLatitude())
+                .longitude(tracking.getLongitude())
+                .accuracy(tracking.getAccuracy())
+                .recordedAt(tracking.getRecordedAt())
+                .build();
+    }
+}
@@ -1,18 +1,25 @@
 package com.ironman.service;
 
 import com.ironman.dto.request.FcmTokenRequest;
+import com.ironman.dto.response.NotificationFeedResponse;
 import com.ironman.dto.response.NotificationResponse;
+import com.ironman.exception.BadRequestException;
 import com.ironman.exception.ResourceNotFoundException;
 import com.ironman.model.Notification;
 import com.ironman.model.NotificationType;
+import com.ironman.model.Order;
 import com.ironman.model.User;
 import com.ironman.repository.NotificationRepository;
 import com.ironman.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,9 +28,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class NotificationService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 50;
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
-    // TODO: Add FirebaseMessaging when we configure Firebase
+    private final OutboxService outboxService;
+    private final UnreadCounterService unreadCounterService;
 
     /**
      * Save FCM token for user
@@ -61,49 +71,40 @@ public class NotificationService {
         notification.setOrderId(orderId);
         notification.setIsRead(false);
         notification.setFcmSent(false);
+        // Push is delivered in batches by PushDispatchJob; no token means nothing to push
+        notification.setFcmToken(user.getFcmToken());
 
         notificationRepository.save(notification);
-
-        // TODO: Send FCM push notification
-        // if (user.getFcmToken() != null) {
-        //     sendFcmNotification(user.getFcmToken(), title, message);
-        // }
+        unreadCounterService.adjust(userId, 1);
 
         log.info("Notification created successfully");
     }
 
     /**
-     * Get all notifications for user
+     * Get a page of the user's notifications, newest first
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
      */
-    public List<NotificationResponse> getUserNotifications(Long userId) {
+    @Transactional(readOnly = true)
+    public NotificationFeedResponse getUserNotifications(Long userId, String cursor, int size) {
         log.info("Fetching notifications for user: {}", userId);
-
-        List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
-
-        return notifications.stream()
-                .map(this::mapToNotificationResponse)
-                .collect(Collectors.toList());
+        return getFeed(userId, cursor, size, false);
     }
 
     /**
-     * Get unread notifications
+     * Get a page of the user's unread notifications, newest first
      */
-    public List<NotificationResponse> getUnreadNotifications(Long userId) {
+    @Transactional(readOnly = true)
+    public NotificationFeedResponse getUnreadNotifications(Long userId, String cursor, int size) {
         log.info("Fetching unread notifications for user: {}", userId);
-
-        List<Notification> notifications = notificationRepository
-                .findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId);
-
-        return notifications.stream()
-                .map(this::mapToNotificationResponse)
-                .collect(Collectors.toList());
+        return getFeed(userId, cursor, size, true);
     }
 
     /**
-     * Get unread count
+     * Get unread count (served from the cached counter)
      */
     public long getUnreadCount(Long userId) {
-        return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        return unreadCounterService.getUnreadCount(userId);
     }
 
     /**
@@ -113,60 +114,81 @@ public class NotificationService {
     public void markAsRead(Long notificationId, Long userId) {
         log.info("Marking notification {} as read", notificationId);
 
-        Notification notification = notificationRepository.findById(notificationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Notification not found"));
-
-        // Verify notification belongs to user
-        if (!notification.getUser().getId().equals(userId)) {
-            throw new ResourceNotFoundException("Notification not found");
+        if (notificationRepository.markAsReadIfUnread(notificationId, userId) == 0) {
+            // Already read, or not this user's notification
+            if (!notificationRepository.existsByIdAndUserId(notificationId, userId)) {
+                throw new ResourceNotFoundException("Notification not found");
+            }
+            return;
         }
 
-        notification.setIsRead(true);
-        notificationRepository.save(notification);
+        unreadCounterService.adjust(userId, -1);
     }
 
     /**
-     * Mark all as read
+     * Mark all as read - one set-based UPDATE instead of loading every unread row
      */
     @Transactional
-    public void markAllAsRead(Long userId) {
+    public int markAllAsRead(Long userId) {
         log.info("Marking all notifications as read for user: {}", userId);
 
-        List<Notification> unread = notificationRepository
-                .findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId);
+        int updated = notificationRepository.markAllAsReadByUserId(userId);
+        unreadCounterService.reset(userId);
 
-        unread.forEach(n -> n.setIsRead(true));
-        notificationRepository.saveAll(unread);
+        log.info("Marked {} notifications as read", updated);
+        return updated;
+    }
 
-        log.info("Marked {} notifications as read", unread.size());
+    public boolean isArchiveInstalled() {
+        return notificationRepository.archiveTableExists();
+    }
+
+    /**
+     * Move one batch of notifications older than the cutoff to the archive table
+     *
+     * @return number of rows moved
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime cutoff, int batchSize) {
+        List<NotificationRepository.ArchivedRow> moved = notificationRepository.archiveCreatedBefore(cutoff, batchSize);
+
+        // Archived unread rows no longer count towards the badge
+        moved.stream()
+                .filter(row -> !Boolean.TRUE.equals(row.getIsRead()))
+                .collect(Collectors.groupingBy(NotificationRepository.ArchivedRow::getUserId, Collectors.counting()))
+                .forEach((userId, unread) -> unreadCounterService.adjust(userId, -unread));
+        return moved.size();
     }
 
     // =============================================
     // HELPER METHODS FOR SPECIFIC NOTIFICATIONS
+    // Queued through the outbox - callers' transactions never wait on delivery
     // =============================================
 
-    public void notifyOrderCreated(Long userId, Long orderId, String orderNumber) {
-        createNotification(
+    public void notifyOrderCreated(Long userId, Order order) {
+        String orderNumber = order.getOrderNumber();
+        outboxService.enqueueNotification(
                 userId,
                 NotificationType.ORDER_CREATED,
                 "Order Placed Successfully",
                 "Your order " + orderNumber + " has been placed successfully.",
-                orderId
+                order.getId()
         );
     }
 
-    public void notifyPaymentSuccess(Long userId, Long orderId, String orderNumber) {
-        createNotification(
+    public void notifyPaymentSuccess(Long userId, Order order) {
+        String orderNumber = order.getOrderNumber();
+        outboxService.enqueueNotification(
                 userId,
                 NotificationType.PAYMENT_SUCCESS,
                 "Payment Successful",
                 "Payment for order " + orderNumber + " was successful.",
-                orderId
+                order.getId()
         );
     }
 
     public void notifyPickupAssigned(Long userId, Long orderId, String orderNumber, String partnerName) {
-        createNotification(
+        outboxService.enqueueNotification(
                 userId,
                 NotificationType.PICKUP_ASSIGNED,
                 "Pickup Scheduled",
@@ -176,7 +198,7 @@ public class NotificationService {
     }
 
     public void notifyDeliveryAssigned(Long userId, Long orderId, String orderNumber, String partnerName) {
-        createNotification(
+        outboxService.enqueueNotification(
                 userId,
                 NotificationType.DELIVERY_ASSIGNED,
                 "Out for Delivery",
@@ -186,7 +208,7 @@ public class NotificationService {
     }
 
     public void notifyDelivered(Long userId, Long orderId, String orderNumber) {
-        createNotification(
+        outboxService.enqueueNotification(
                 userId,
                 NotificationType.DELIVERED,
                 "Order Delivered",
@@ -199,6 +221,56 @@ public class NotificationService {
     // PRIVATE HELPERS
     // =============================================
 
+    private NotificationFeedResponse getFeed(Long userId, String cursor, int size, boolean unreadOnly) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_FEED_PAGE_SIZE);
+        // One extra row tells us whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Notification> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadFeedFirstPage(userId, limit)
+                    : notificationRepository.findFeedFirstPage(userId, limit);
+        } else {
+            FeedCursor position = decodeCursor(cursor);
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadFeedAfter(userId, position.createdAt(), position.id(), limit)
+                    : notificationRepository.findFeedAfter(userId, position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> page = hasMore ? rows.subList(0, pageSize) : rows;
+        Notification last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return NotificationFeedResponse.builder()
+                .notifications(page.stream()
+                        .map(this::mapToNotificationResponse)
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? encodeCursor(last) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private record FeedCursor(LocalDateTime createdAt, Long id) {
+    }
+
+    // Opaque to clients: base64url of "createdAt|id"
+    private String encodeCursor(Notification notification) {
+        String raw = notification.getCreatedAt() + "|" + notification.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private FeedCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new FeedCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
     private NotificationResponse mapToNotificationResponse(Notification notification) {
         return NotificationResponse.builder()
                 .id(notification.getId())
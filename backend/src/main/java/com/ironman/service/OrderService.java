@@ -38,6 +38,7 @@ public class OrderService {
     private final NotificationService notificationService;
     private final OrderStatusHistoryRepository statusHistoryRepository;
     private final OrderStatusService orderStatusService;
+    private final CustomerEligibilityService eligibilityService;
 
     private static final BigDecimal TAX_RATE = new BigDecimal("0.18");
 
@@ -119,6 +120,7 @@ public class OrderService {
 
         // Save order first to get ID
         Order savedOrder = orderRepository.save(order);
+        eligibilityService.evict(userId);
 
         // --- CREATE ORDER ITEMS ---
         List<OrderItem> orderItems = new ArrayList<>();
@@ -182,12 +184,8 @@ public class OrderService {
 
         orderStatusService.createInitialHistory(finalOrder);
 
-        // Send notification
-        notificationService.notifyOrderCreated(
-                userId,
-                finalOrder.getId(),
-                finalOrder.getOrderNumber()
-        );
+        // Queue notifications - delivered after commit by the outbox dispatcher
+        notificationService.notifyOrderCreated(userId, finalOrder);
 
         log.info("Order created successfully: {}", finalOrder.getOrderNumber());
 
@@ -242,6 +240,7 @@ public class OrderService {
 
         order.setStatus(OrderStatus.CANCELLED);
         Order updatedOrder = orderRepository.save(order);
+        eligibilityService.evict(userId);
 
         // Release the slot
         slotService.cancelSlot(order.getPickupDate(), order.getPickupSlot());
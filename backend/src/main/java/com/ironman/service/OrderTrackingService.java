@@ -81,7 +81,7 @@ public class OrderTrackingService {
     private OrderTrackingResponse buildTrackingResponse(Order order) {
         // Get status history
         List<OrderStatusHistory> history = statusHistoryRepository
-                .findByOrderIdOrderByChangedAtAsc(order.getId());
+                .findByOrderIdAndChangedAtGreaterThanEqualOrderByChangedAtAsc(order.getId(), historySince(order));
 
         // Build timeline
         List<OrderTrackingResponse.StatusTimelineItem> timeline = buildStatusTimeline(order, history);
@@ -279,6 +279,13 @@ public class OrderTrackingService {
         return null;
     }
 
+    /**
+     * Status history can't predate the order - bounding the query lets Postgres skip older partitions
+     */
+    private LocalDateTime historySince(Order order) {
+        return order.getCreatedAt() != null ? order.getCreatedAt().minusMinutes(1) : LocalDate.EPOCH.atStartOfDay();
+    }
+
     /**
      * Format address
      */
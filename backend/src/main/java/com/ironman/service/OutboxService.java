@@ -0,0 +1,187 @@
+package com.ironman.service;
+
+import com.ironman.dto.request.EmailRequest;
+import com.ironman.dto.request.SmsRequest;
+import com.ironman.model.NotificationType;
+import com.ironman.model.OutboxChannel;
+import com.ironman.model.OutboxEvent;
+import com.ironman.model.OutboxStatus;
+import com.ironman.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Transactional outbox for customer messages.
+ * Events are inserted in the caller's transaction, so they exist exactly when the order/payment change commits,
+ * and are delivered afterwards by the OutboxDispatcher.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    // The application's mapper, so payloads serialize like API responses do
+    private final JsonMapper jsonMapper;
+
+    @Value("${app.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${app.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${app.outbox.claim-timeout-minutes:10}")
+    private long claimTimeoutMinutes;
+
+    /**
+     * In-app notification payload
+     */
+    public record NotificationMessage(Long userId, NotificationType type, String title, String message,
+                                      Long orderId) {
+    }
+
+    // =============================================
+    // ENQUEUE (runs in the caller's transaction)
+    // =============================================
+
+    @Transactional
+    public void enqueueNotification(Long userId, NotificationType type, String title, String message, Long orderId) {
+        enqueue(OutboxChannel.NOTIFICATION, type.name(), orderId,
+                new NotificationMessage(userId, type, title, message, orderId));
+    }
+
+    @Transactional
+    public void enqueueSms(String eventType, SmsRequest request) {
+        enqueue(OutboxChannel.SMS, eventType, request.getOrderId(), request);
+    }
+
+    @Transactional
+    public void enqueueEmail(String eventType, Long orderId, EmailRequest request) {
+        enqueue(OutboxChannel.EMAIL, eventType, orderId, request);
+    }
+
+    // =============================================
+    // DISPATCH
+    // =============================================
+
+    /**
+     * Claim up to limit due events of a channel. The row locks only live for this short transaction;
+     * the PROCESSING status keeps other dispatchers away while the events are being delivered.
+     */
+    @Transactional
+    public List<OutboxEvent> claimDueEvents(OutboxChannel channel, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.lockDueEvents(
+                channel.name(), now, now.minusMinutes(claimTimeoutMinutes), limit);
+
+        events.forEach(event -> {
+            event.setStatus(OutboxStatus.PROCESSING);
+            event.setClaimedAt(now);
+        });
+        return events;
+    }
+
+    @Transactional
+    public void markSent(OutboxEvent event) {
+        outboxEventRepository.markSent(event.getId(), LocalDateTime.now());
+    }
+
+    /**
+     * Schedule a retry with exponential backoff, or dead-letter the event when
+     * the failure is permanent or the attempts are used up
+     */
+    @Transactional
+    public void markFailed(OutboxEvent event, Exception error, boolean retryable) {
+        LocalDateTime now = LocalDateTime.now();
+        int attempt = event.getAttempts() + 1;
+        String message = truncate(error.getClass().getSimpleName() + ": " + error.getMessage());
+
+        if (!retryable || attempt >= maxAttempts) {
+            outboxEventRepository.markFailed(event.getId(), OutboxStatus.DEAD, event.getNextAttemptAt(), message, now);
+            log.error("Outbox event {} ({} {}) dead-lettered after {} attempts: {}",
+                    event.getId(), event.getChannel(), event.getEventType(), attempt, message);
+            return;
+        }
+
+        LocalDateTime nextAttemptAt = now.plusSeconds(backoffSeconds(attempt));
+        outboxEventRepository.markFailed(event.getId(), OutboxStatus.PENDING, nextAttemptAt, message, null);
+        log.warn("Outbox event {} ({} {}) failed attempt {}, retrying at {}: {}",
+                event.getId(), event.getChannel(), event.getEventType(), attempt, nextAttemptAt, message);
+    }
+
+    @Transactional
+    public void release(OutboxEvent event) {
+        outboxEventRepository.release(event.getId());
+    }
+
+    @Transactional
+    public int purgeSent(LocalDateTime before) {
+        return outboxEventRepository.deleteSentBefore(before);
+    }
+
+    public long countDead() {
+        return outboxEventRepository.countByStatus(OutboxStatus.DEAD);
+    }
+
+    /**
+     * Read an event payload back into its message type
+     */
+    public <T> T readPayload(OutboxEvent event, Class<T> type) {
+        try {
+            return jsonMapper.readValue(event.getPayload(), type);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Unreadable outbox payload: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private void enqueue(OutboxChannel channel, String eventType, Long orderId, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setChannel(channel);
+        event.setEventType(eventType);
+        event.setOrderId(orderId);
+        event.setPayload(writePayload(payload));
+        event.setStatus(OutboxStatus.PENDING);
+        event.setAttempts(0);
+        event.setNextAttemptAt(LocalDateTime.now());
+        outboxEventRepository.save(event);
+
+        log.debug("Queued {} {} for order {}", channel, eventType, orderId);
+    }
+
+    private String writePayload(Object payload) {
+        try {
+            return jsonMapper.writeValueAsString(payload);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable", e);
+        }
+    }
+
+    // initial * 2^(attempt-1), capped, with up to 20% jitter so retries of one outage don't arrive together
+    private long backoffSeconds(int attempt) {
+        long base = initialBackoffSeconds << Math.min(attempt - 1, 20);
+        long capped = Math.min(base, maxBackoffSeconds);
+        return capped + ThreadLocalRandom.current().nextLong(capped / 5 + 1);
+    }
+
+    private String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
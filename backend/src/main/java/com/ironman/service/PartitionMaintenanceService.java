@@ -0,0 +1,124 @@
+package com.ironman.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of location_tracking and order_status_history in shape:
+ * creates upcoming months ahead of time and detaches/drops months past their retention.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionMaintenanceService {
+
+    // Partitions are named <parent>_pYYYY_MM by create_monthly_partition()
+    private static final Pattern PARTITION_SUFFIX = Pattern.compile("_p(\\d{4})_(\\d{2})$");
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT child.relname FROM pg_inherits i " +
+            "JOIN pg_class parent ON parent.oid = i.inhparent " +
+            "JOIN pg_class child ON child.oid = i.inhrelid " +
+            "WHERE parent.relname = ? ORDER BY child.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicBoolean missingFunctionReported = new AtomicBoolean();
+
+    @Value("${app.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.partitioning.drop-detached:true}")
+    private boolean dropDetached;
+
+    @Value("${app.partitioning.retention-months.location-tracking:3}")
+    private int locationTrackingRetentionMonths;
+
+    @Value("${app.partitioning.retention-months.order-status-history:24}")
+    private int orderStatusHistoryRetentionMonths;
+
+    /**
+     * Whether the V5 partitioning migration has been applied. Migrations are run by hand,
+     * so a database without it is warned about once instead of failing every run.
+     */
+    public boolean isPartitioningInstalled() {
+        Boolean installed = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_proc WHERE proname = 'create_monthly_partition')", Boolean.class);
+        if (Boolean.TRUE.equals(installed)) {
+            missingFunctionReported.set(false);
+            return true;
+        }
+        if (missingFunctionReported.compareAndSet(false, true)) {
+            log.warn("Partition maintenance skipped: create_monthly_partition() not found - " +
+                    "apply db/migration/V5__partition_history_tables.sql");
+        }
+        return false;
+    }
+
+    /**
+     * Partitioned tables and how many months each keeps (0 = keep forever)
+     */
+    public Map<String, Integer> getPartitionedTables() {
+        Map<String, Integer> tables = new LinkedHashMap<>();
+        tables.put("location_tracking", locationTrackingRetentionMonths);
+        tables.put("order_status_history", orderStatusHistoryRetentionMonths);
+        return tables;
+    }
+
+    /**
+     * Create partitions for the current month and the next monthsAhead months
+     */
+    public void ensureFuturePartitions(String table) {
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, ?)", String.class,
+                    table, Date.valueOf(month.plusMonths(i).atDay(1)));
+        }
+    }
+
+    /**
+     * Detach (and optionally drop) partitions entirely older than the retention window
+     *
+     * @return number of partitions removed from the table
+     */
+    public int applyRetention(String table, int retentionMonths) {
+        if (retentionMonths <= 0) {
+            return 0;
+        }
+
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        List<String> partitions = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class, table);
+
+        int removed = 0;
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_SUFFIX.matcher(partition);
+            if (!matcher.find()) {
+                continue;
+            }
+
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+
+            jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+            if (dropDetached) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            }
+            log.info("Retention: {} partition {} of {}", dropDetached ? "dropped" : "detached", partition, table);
+            removed++;
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,218 @@
+package com.ironman.service;
+
+import com.ironman.dto.response.ReconciliationStatsResponse;
+import com.ironman.model.Payment;
+import com.ironman.payment.GatewayPaymentStatus;
+import com.ironman.payment.PaymentGateway;
+import com.ironman.repository.PaymentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Settles payments left PENDING when neither checkout verification nor the webhook arrived.
+ * Stale PENDING payments are scanned in keyset batches, looked up on the gateway with at most
+ * `concurrency` calls in flight, and applied through PaymentTransitionService like webhooks are.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentReconciliationService {
+
+    private static final String SOURCE = "Reconciliation";
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentGateway paymentGateway;
+    private final PaymentTransitionService paymentTransitionService;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile RunStats stats = new RunStats();
+    private ExecutorService appliers;
+
+    @Value("${app.payments.reconciliation.min-age-minutes:15}")
+    private long minAgeMinutes;
+
+    @Value("${app.payments.reconciliation.abandon-after-hours:24}")
+    private long abandonAfterHours;
+
+    @Value("${app.payments.reconciliation.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.payments.reconciliation.concurrency:8}")
+    private int concurrency;
+
+    @PostConstruct
+    void startAppliers() {
+        appliers = Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("reconcile-"));
+    }
+
+    @PreDestroy
+    void stopAppliers() throws InterruptedException {
+        appliers.shutdown();
+        appliers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Run one full pass over stale PENDING payments. Returns immediately if a pass is already running.
+     */
+    public ReconciliationStatsResponse reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Payment reconciliation already running, skipping");
+            return getStats();
+        }
+
+        RunStats run = new RunStats();
+        stats = run;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime createdBefore = now.minusMinutes(minAgeMinutes);
+            LocalDateTime abandonedBefore = now.minusHours(abandonAfterHours);
+            Semaphore permits = new Semaphore(concurrency);
+
+            long afterId = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Payment> batch = paymentRepository.findStalePending(
+                        createdBefore, afterId, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                reconcileBatch(batch, abandonedBefore, permits, run);
+                afterId = batch.get(batch.size() - 1).getId();
+                run.lastPaymentId = afterId;
+
+                log.info("Reconciliation progress: scanned={} paid={} failed={} pending={} errors={}",
+                        run.scanned.get(), run.paid.get(), run.failed.get(), run.pending.get(), run.errors.get());
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            run.finishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+
+        log.info("Payment reconciliation finished: scanned={} paid={} failed={} pending={} unchanged={} errors={}",
+                run.scanned.get(), run.paid.get(), run.failed.get(), run.pending.get(),
+                run.unchanged.get(), run.errors.get());
+        return getStats();
+    }
+
+    /**
+     * Progress of the current run, or the last finished one
+     */
+    public ReconciliationStatsResponse getStats() {
+        RunStats run = stats;
+        return ReconciliationStatsResponse.builder()
+                .running(running.get())
+                .startedAt(run.startedAt)
+                .finishedAt(run.finishedAt)
+                .scanned(run.scanned.get())
+                .markedPaid(run.paid.get())
+                .markedFailed(run.failed.get())
+                .stillPending(run.pending.get())
+                .unchanged(run.unchanged.get())
+                .errors(run.errors.get())
+                .lastPaymentId(run.lastPaymentId)
+                .build();
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private static class RunStats {
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final AtomicLong scanned = new AtomicLong();
+        final AtomicLong paid = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong pending = new AtomicLong();
+        final AtomicLong unchanged = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        volatile LocalDateTime finishedAt;
+        volatile Long lastPaymentId;
+    }
+
+    /**
+     * Gateway lookups run concurrently; each permit is held until its result has been applied,
+     * so gateway calls and DB transitions are both bounded by `concurrency`.
+     */
+    private void reconcileBatch(List<Payment> batch, LocalDateTime abandonedBefore, Semaphore permits, RunStats run)
+            throws InterruptedException {
+        List<CompletableFuture<Void>> lookups = new ArrayList<>(batch.size());
+        for (Payment payment : batch) {
+            permits.acquire();
+            String razorpayOrderId = payment.getRazorpayOrderId();
+            boolean abandoned = payment.getCreatedAt().isBefore(abandonedBefore);
+
+            CompletableFuture<GatewayPaymentStatus> lookup;
+            try {
+                lookup = paymentGateway.fetchPaymentStatus(razorpayOrderId);
+            } catch (RuntimeException e) {
+                lookup = CompletableFuture.failedFuture(e);
+            }
+
+            lookups.add(lookup.handleAsync((status, error) -> {
+                try {
+                    run.scanned.incrementAndGet();
+                    if (error != null) {
+                        run.errors.incrementAndGet();
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        log.warn("Reconciliation lookup failed for {}: {}", razorpayOrderId, cause.getMessage());
+                    } else {
+                        apply(razorpayOrderId, status, abandoned, run);
+                    }
+                } catch (Exception e) {
+                    run.errors.incrementAndGet();
+                    log.error("Reconciliation failed for {}: {}", razorpayOrderId, e.getMessage());
+                } finally {
+                    permits.release();
+                }
+                return null;
+            }, appliers));
+        }
+        CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void apply(String razorpayOrderId, GatewayPaymentStatus status, boolean abandoned, RunStats run) {
+        boolean changed;
+        switch (status.outcome()) {
+            case PAID:
+                changed = paymentTransitionService.markPaid(razorpayOrderId, status.paymentId(), null, SOURCE);
+                (changed ? run.paid : run.unchanged).incrementAndGet();
+                break;
+            case FAILED:
+                changed = paymentTransitionService.markFailed(razorpayOrderId, status.paymentId(),
+                        status.reason(), SOURCE);
+                (changed ? run.failed : run.unchanged).incrementAndGet();
+                break;
+            default:
+                if (!abandoned) {
+                    run.pending.incrementAndGet();
+                    return;
+                }
+                // A late success can still move a FAILED payment to PAID
+                changed = paymentTransitionService.markFailed(razorpayOrderId, null,
+                        "No completed payment attempt after " + abandonAfterHours + "h", SOURCE);
+                (changed ? run.failed : run.unchanged).incrementAndGet();
+        }
+    }
+}
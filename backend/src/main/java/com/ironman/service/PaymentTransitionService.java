@@ -0,0 +1,78 @@
+package com.ironman.service;
+
+import com.ironman.model.Order;
+import com.ironman.model.Payment;
+import com.ironman.repository.OrderRepository;
+import com.ironman.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * The single place where payments change state. Checkout verification, webhooks and reconciliation
+ * all go through here, and every transition is a conditional update, so replays and races are no-ops.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentTransitionService {
+
+    private final PaymentRepository paymentRepository;
+    private final OrderRepository orderRepository;
+    private final NotificationService notificationService;
+
+    /**
+     * Mark the payment of a Razorpay order PAID and move its order on to pickup
+     *
+     * @return true if this call made the transition, false if unknown or already PAID
+     */
+    @Transactional
+    public boolean markPaid(String razorpayOrderId, String razorpayPaymentId, String signature, String source) {
+        Payment payment = paymentRepository.findByRazorpayOrderId(razorpayOrderId).orElse(null);
+        if (payment == null) {
+            log.warn("{}: no payment for Razorpay order {}", source, razorpayOrderId);
+            return false;
+        }
+
+        Long orderId = payment.getOrder().getId();
+        LocalDateTime now = LocalDateTime.now();
+        if (paymentRepository.markPaid(payment.getId(), razorpayPaymentId, signature, now) == 0) {
+            log.info("{}: payment for Razorpay order {} already PAID", source, razorpayOrderId);
+            return false;
+        }
+
+        orderRepository.markPaymentPaid(orderId, now);
+        Order order = orderRepository.findById(orderId).orElseThrow();
+
+        // Queue notifications - delivered after commit by the outbox dispatcher
+        notificationService.notifyPaymentSuccess(order.getCustomer().getId(), order);
+
+        log.info("{}: payment PAID for order {}", source, order.getOrderNumber());
+        return true;
+    }
+
+    /**
+     * Mark a PENDING payment FAILED. PAID payments are never downgraded.
+     *
+     * @return true if this call made the transition
+     */
+    @Transactional
+    public boolean markFailed(String razorpayOrderId, String razorpayPaymentId, String reason, String source) {
+        Payment payment = paymentRepository.findByRazorpayOrderId(razorpayOrderId).orElse(null);
+        if (payment == null) {
+            log.warn("{}: no payment for Razorpay order {}", source, razorpayOrderId);
+            return false;
+        }
+
+        if (paymentRepository.markFailed(payment.getId(), razorpayPaymentId, reason, LocalDateTime.now()) == 0) {
+            log.info("{}: payment for Razorpay order {} is not PENDING, failure ignored", source, razorpayOrderId);
+            return false;
+        }
+
+        log.info("{}: payment FAILED for Razorpay order {} ({})", source, razorpayOrderId, reason);
+        return true;
+    }
+}
@@ -0,0 +1,167 @@
+package com.ironman.service;
+
+import com.ironman.exception.BadRequestException;
+import com.ironman.model.PaymentWebhookEvent;
+import com.ironman.model.WebhookEventStatus;
+import com.ironman.repository.PaymentWebhookEventRepository;
+import com.ironman.security.PaymentSignatureVerifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Razorpay webhooks are stored on arrival and applied later by PaymentWebhookJob.
+ * The HTTP call only verifies and inserts, so Razorpay gets its 200 quickly even under bursts,
+ * and redelivered events are dropped by the unique event id.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentWebhookService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PaymentWebhookEventRepository webhookEventRepository;
+    private final PaymentSignatureVerifier signatureVerifier;
+    private final PaymentTransitionService paymentTransitionService;
+
+    @Value("${app.payments.webhook.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.payments.webhook.claim-timeout-minutes:5}")
+    private long claimTimeoutMinutes;
+
+    /**
+     * Verify and store a webhook delivery
+     *
+     * @return false if this event was already received
+     */
+    @Transactional
+    public boolean ingest(String payload, String signature, String eventIdHeader) {
+        if (!signatureVerifier.verifyWebhookSignature(payload, signature)) {
+            throw new BadRequestException("Invalid webhook signature");
+        }
+
+        JSONObject event;
+        try {
+            event = new JSONObject(payload);
+        } catch (JSONException e) {
+            throw new BadRequestException("Webhook error: " + e.getMessage());
+        }
+
+        String eventType = event.optString("event", "unknown");
+        JSONObject payment = paymentEntity(event);
+        String eventId = eventIdHeader != null && !eventIdHeader.isBlank() ? eventIdHeader : sha256(payload);
+
+        int inserted = webhookEventRepository.insertIfAbsent(eventId, eventType,
+                payment != null ? payment.optString("order_id", null) : null,
+                payment != null ? payment.optString("id", null) : null,
+                payload, LocalDateTime.now());
+
+        if (inserted == 0) {
+            log.info("Duplicate webhook {} ({}) ignored", eventId, eventType);
+            return false;
+        }
+        log.info("Webhook {} ({}) stored", eventId, eventType);
+        return true;
+    }
+
+    /**
+     * Claim a batch of stored events, oldest first
+     */
+    @Transactional
+    public List<PaymentWebhookEvent> claimPending(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PaymentWebhookEvent> events = webhookEventRepository.lockPending(
+                now.minusMinutes(claimTimeoutMinutes), limit);
+        if (!events.isEmpty()) {
+            webhookEventRepository.claim(events.stream().map(PaymentWebhookEvent::getId).collect(Collectors.toList()), now);
+        }
+        return events;
+    }
+
+    /**
+     * Apply one event. Runs in its own transaction together with the payment/order update.
+     */
+    @Transactional
+    public void process(PaymentWebhookEvent event) {
+        String source = "Webhook " + event.getEventId();
+        WebhookEventStatus outcome = WebhookEventStatus.PROCESSED;
+
+        switch (event.getEventType()) {
+            case "payment.authorized", "payment.captured", "order.paid" ->
+                    paymentTransitionService.markPaid(event.getRazorpayOrderId(), event.getRazorpayPaymentId(),
+                            null, source);
+            case "payment.failed" -> {
+                JSONObject payment = paymentEntity(new JSONObject(event.getPayload()));
+                String reason = payment != null ? payment.optString("error_code", "Unknown") : "Unknown";
+                paymentTransitionService.markFailed(event.getRazorpayOrderId(), event.getRazorpayPaymentId(),
+                        reason, source);
+            }
+            default -> {
+                log.info("Unhandled event: {}", event.getEventType());
+                outcome = WebhookEventStatus.IGNORED;
+            }
+        }
+
+        webhookEventRepository.finish(event.getId(), outcome, null, LocalDateTime.now());
+    }
+
+    /**
+     * Record a processing failure: retried on a later run, dead after max attempts
+     */
+    @Transactional
+    public void recordFailure(PaymentWebhookEvent event, Exception error) {
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        if (event.getAttempts() + 1 >= maxAttempts) {
+            webhookEventRepository.finish(event.getId(), WebhookEventStatus.FAILED, message, LocalDateTime.now());
+            log.error("Webhook {} failed permanently: {}", event.getEventId(), message);
+        } else {
+            webhookEventRepository.retry(event.getId(), message);
+            log.warn("Webhook {} failed, will retry: {}", event.getEventId(), message);
+        }
+    }
+
+    @Transactional
+    public void release(Collection<Long> eventIds) {
+        if (!eventIds.isEmpty()) {
+            webhookEventRepository.release(eventIds);
+        }
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private JSONObject paymentEntity(JSONObject event) {
+        JSONObject payload = event.optJSONObject("payload");
+        JSONObject payment = payload != null ? payload.optJSONObject("payment") : null;
+        return payment != null ? payment.optJSONObject("entity") : null;
+    }
+
+    private String sha256(String payload) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(payload.getBytes(StandardCharsets.UTF_8));
+            return "sha256:" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ironman.service;
+
+import com.ironman.model.Notification;
+import com.ironman.push.PushMessage;
+import com.ironman.push.PushResult;
+import com.ironman.repository.NotificationRepository;
+import com.ironman.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Database side of push delivery: claims pending pushes and records batch outcomes with bulk updates
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PushDeliveryService {
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+
+    // Pushes for older notifications are stale - the user will see them in the feed instead
+    @Value("${app.push.max-age-minutes:60}")
+    private long maxAgeMinutes;
+
+    @Value("${app.push.claim-timeout-minutes:5}")
+    private long claimTimeoutMinutes;
+
+    /**
+     * Claim up to limit pending pushes and turn them into messages
+     */
+    @Transactional
+    public List<PushMessage> claimPending(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> pending = notificationRepository.lockPendingPushes(
+                now.minusMinutes(maxAgeMinutes), now.minusMinutes(claimTimeoutMinutes), limit);
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+
+        notificationRepository.claimPushes(pending.stream().map(Notification::getId).collect(Collectors.toList()), now);
+
+        return pending.stream()
+                .map(this::toPushMessage)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Mark delivered pushes as sent and prune tokens FCM rejected.
+     * Transient failures keep their claim and are retried once it times out.
+     */
+    @Transactional
+    public void recordResults(List<PushResult> results) {
+        Map<PushResult.Outcome, List<PushResult>> byOutcome = results.stream()
+                .collect(Collectors.groupingBy(PushResult::outcome));
+
+        List<Long> sent = ids(byOutcome.get(PushResult.Outcome.SENT));
+        if (!sent.isEmpty()) {
+            notificationRepository.markPushed(sent);
+        }
+
+        List<PushResult> invalid = byOutcome.getOrDefault(PushResult.Outcome.INVALID_TOKEN, List.of());
+        if (!invalid.isEmpty()) {
+            notificationRepository.dropPushes(ids(invalid));
+            Set<String> tokens = invalid.stream().map(PushResult::token).collect(Collectors.toSet());
+            int cleared = userRepository.clearFcmTokens(tokens);
+            log.info("Pruned {} invalid FCM tokens from {} users", tokens.size(), cleared);
+        }
+
+        int failed = byOutcome.getOrDefault(PushResult.Outcome.FAILED, List.of()).size();
+        if (failed > 0) {
+            log.warn("{} pushes failed and will be retried after the claim times out", failed);
+        }
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private List<Long> ids(List<PushResult> results) {
+        if (results == null) {
+            return List.of();
+        }
+        return results.stream().map(PushResult::notificationId).collect(Collectors.toList());
+    }
+
+    private PushMessage toPushMessage(Notification notification) {
+        Map<String, String> data = new HashMap<>();
+        data.put("notificationId", String.valueOf(notification.getId()));
+        data.put("type", notification.getType().name());
+        if (notification.getOrderId() != null) {
+            data.put("orderId", String.valueOf(notification.getOrderId()));
+        }
+        return new PushMessage(notification.getId(), notification.getFcmToken(),
+                notification.getTitle(), notification.getMessage(), data);
+    }
+}
@@ -0,0 +1,283 @@
+package com.ironman.service;
+
+import com.ironman.dto.response.AssignmentResponse;
+import com.ironman.dto.response.RoutePlanResponse;
+import com.ironman.exception.BadRequestException;
+import com.ironman.model.*;
+import com.ironman.repository.AssignmentRepository;
+import com.ironman.repository.DeliveryPartnerRepository;
+import com.ironman.repository.OrderRepository;
+import com.ironman.util.RouteOptimizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoutePlanningService {
+
+    private static final DateTimeFormatter ROUTE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter ROUTE_TIME = DateTimeFormatter.ofPattern("HHmmss");
+
+    // Paid orders are already PICKUP_ASSIGNED before anyone is dispatched, same as for assignPickup
+    private static final List<OrderStatus> ROUTABLE_STATUSES =
+            List.of(OrderStatus.PENDING, OrderStatus.PICKUP_ASSIGNED);
+
+    private final OrderRepository orderRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final DeliveryPartnerRepository partnerRepository;
+    private final AssignmentService assignmentService;
+
+    @Value("${app.routing.max-stops-per-route:8}")
+    private int maxStopsPerRoute;
+
+    @Value("${app.routing.zone-pincode-prefix:4}")
+    private int zonePincodePrefix;
+
+    /**
+     * Batch all unassigned pickups of a slot into multi-stop routes and assign them to available partners.
+     * Orders are grouped into zones by pincode prefix, each zone is routed in parallel
+     * (nearest neighbour + 2-opt) and then cut into runs of at most maxStopsPerRoute stops.
+     */
+    @Transactional
+    public RoutePlanResponse planPickupRoutes(LocalDate pickupDate, String pickupSlot) {
+        log.info("Planning pickup routes for {} {}", pickupDate, pickupSlot);
+
+        if (!"MORNING".equals(pickupSlot) && !"EVENING".equals(pickupSlot)) {
+            throw new BadRequestException("Invalid slot. Must be MORNING or EVENING");
+        }
+
+        List<Order> orders = orderRepository.findForRoutePlanning(pickupDate, pickupSlot,
+                ROUTABLE_STATUSES, AssignmentService.ACTIVE_STATUSES);
+        if (orders.isEmpty()) {
+            log.info("No unassigned pickups to plan");
+            return RoutePlanResponse.builder()
+                    .pickupDate(pickupDate)
+                    .pickupSlot(pickupSlot)
+                    .routes(List.of())
+                    .build();
+        }
+
+        List<DeliveryPartner> partners = partnerRepository.findByStatusAndIsAvailableTrue(PartnerStatus.APPROVED);
+        if (partners.isEmpty()) {
+            throw new BadRequestException("No available partners to assign routes");
+        }
+
+        // Snapshot coordinates so route computation never touches managed entities
+        Map<Long, Order> ordersById = orders.stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        Map<Long, RouteOptimizer.Point> locatedStops = new HashMap<>();
+        Map<String, List<Long>> zones = new TreeMap<>();
+        for (Order order : orders) {
+            Address address = order.getPickupAddress();
+            zones.computeIfAbsent(zoneOf(address), z -> new ArrayList<>()).add(order.getId());
+            if (address.getLatitude() != null && address.getLongitude() != null) {
+                locatedStops.put(order.getId(), new RouteOptimizer.Point(order.getId(),
+                        address.getLatitude().doubleValue(), address.getLongitude().doubleValue()));
+            }
+        }
+
+        List<PlannedRun> runs = zones.entrySet().parallelStream()
+                .flatMap(zone -> planZone(zone.getKey(), zone.getValue(), locatedStops).stream())
+                .sorted(Comparator.comparingInt((PlannedRun run) -> run.orderIds().size()).reversed()
+                        .thenComparing(PlannedRun::zone))
+                .collect(Collectors.toList());
+
+        // Hand out runs: least loaded partner first (open assignments plus stops planned here),
+        // closest to the first stop on ties
+        Map<Long, Integer> stopsPerPartner = openAssignments(partners);
+        Set<Long> partnersUsed = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        String routePrefix = "RT-" + pickupDate.format(ROUTE_DATE) + "-" + pickupSlot + "-" + now.format(ROUTE_TIME);
+
+        List<RoutePlanResponse.RouteInfo> routes = new ArrayList<>();
+        int plannedOrders = 0;
+        for (PlannedRun run : runs) {
+            // Claim each order with the same compare-and-set as single dispatch;
+            // orders cancelled or assigned since they were read are left out of the route
+            List<Long> claimed = run.orderIds().stream()
+                    .filter(orderId -> claimForRoute(ordersById.get(orderId), now))
+                    .collect(Collectors.toList());
+            if (claimed.isEmpty()) {
+                continue;
+            }
+            plannedOrders += claimed.size();
+
+            DeliveryPartner partner = pickPartner(partners, stopsPerPartner, firstLocated(claimed, locatedStops));
+            stopsPerPartner.merge(partner.getId(), claimed.size(), Integer::sum);
+            partnersUsed.add(partner.getId());
+
+            RouteOptimizer.Point start = partnerLocation(partner);
+            List<Long> stopOrder = orientFromStart(claimed, start, locatedStops);
+            String routeId = String.format("%s-%03d", routePrefix, routes.size() + 1);
+
+            List<Assignment> assignments = new ArrayList<>(stopOrder.size());
+            for (int seq = 0; seq < stopOrder.size(); seq++) {
+                Order order = ordersById.get(stopOrder.get(seq));
+
+                Assignment assignment = new Assignment();
+                assignment.setOrder(order);
+                assignment.setPartner(partner);
+                assignment.setAssignmentType("PICKUP");
+                assignment.setStatus(AssignmentStatus.ASSIGNED);
+                assignment.setAssignedAt(now);
+                assignment.setRouteId(routeId);
+                assignment.setRouteSequence(seq + 1);
+                assignments.add(assignment);
+            }
+
+            List<Assignment> saved = assignmentRepository.saveAll(assignments);
+
+            List<RouteOptimizer.Point> path = stopOrder.stream()
+                    .map(locatedStops::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            double distanceKm = RouteOptimizer.routeDistanceKm(start, path);
+
+            List<AssignmentResponse> stops = saved.stream()
+                    .map(assignmentService::mapToAssignmentResponse)
+                    .collect(Collectors.toList());
+
+            routes.add(RoutePlanResponse.RouteInfo.builder()
+                    .routeId(routeId)
+                    .zone(run.zone())
+                    .partnerId(partner.getId())
+                    .partnerName(partner.getUser().getFullName())
+                    .totalDistanceKm(Math.round(distanceKm * 100.0) / 100.0)
+                    .stops(stops)
+                    .build());
+        }
+
+        log.info("Planned {} routes for {} of {} orders using {} partners",
+                routes.size(), plannedOrders, orders.size(), partnersUsed.size());
+
+        return RoutePlanResponse.builder()
+                .pickupDate(pickupDate)
+                .pickupSlot(pickupSlot)
+                .totalOrders(plannedOrders)
+                .totalRoutes(routes.size())
+                .routes(routes)
+                .build();
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private record PlannedRun(String zone, List<Long> orderIds) {
+    }
+
+    /**
+     * Route a whole zone, then cut the tour into consecutive runs so each run stays compact.
+     * Stops without coordinates go to the end of the zone in their original order.
+     */
+    private List<PlannedRun> planZone(String zone, List<Long> orderIds, Map<Long, RouteOptimizer.Point> locatedStops) {
+        List<RouteOptimizer.Point> located = new ArrayList<>();
+        List<Long> unlocated = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            RouteOptimizer.Point point = locatedStops.get(orderId);
+            if (point != null) {
+                located.add(point);
+            } else {
+                unlocated.add(orderId);
+            }
+        }
+
+        List<Long> tour = new ArrayList<>(orderIds.size());
+        RouteOptimizer.optimize(null, located).forEach(point -> tour.add(point.id()));
+        tour.addAll(unlocated);
+
+        List<PlannedRun> runs = new ArrayList<>();
+        int runSize = Math.max(1, maxStopsPerRoute);
+        for (int from = 0; from < tour.size(); from += runSize) {
+            runs.add(new PlannedRun(zone, List.copyOf(tour.subList(from, Math.min(from + runSize, tour.size())))));
+        }
+        return runs;
+    }
+
+    private Map<Long, Integer> openAssignments(List<DeliveryPartner> partners) {
+        List<Long> partnerIds = partners.stream().map(DeliveryPartner::getId).collect(Collectors.toList());
+        Map<Long, Integer> open = new HashMap<>();
+        assignmentRepository.countByPartnerIdInAndStatusIn(partnerIds, AssignmentService.ACTIVE_STATUSES)
+                .forEach(load -> open.put(load.getPartnerId(), load.getAssignments().intValue()));
+        return open;
+    }
+
+    private DeliveryPartner pickPartner(List<DeliveryPartner> partners, Map<Long, Integer> stopsPerPartner,
+                                        RouteOptimizer.Point firstStop) {
+        return partners.stream()
+                .min(Comparator.comparingInt((DeliveryPartner p) -> stopsPerPartner.getOrDefault(p.getId(), 0))
+                        .thenComparingDouble(p -> distanceToPartner(p, firstStop)))
+                .orElseThrow();
+    }
+
+    private double distanceToPartner(DeliveryPartner partner, RouteOptimizer.Point stop) {
+        RouteOptimizer.Point location = partnerLocation(partner);
+        if (location == null || stop == null) {
+            return Double.MAX_VALUE;
+        }
+        return RouteOptimizer.distanceKm(location, stop);
+    }
+
+    /**
+     * Drive the run from whichever end is closer to the partner. Unlocated stops stay last.
+     */
+    private List<Long> orientFromStart(List<Long> orderIds, RouteOptimizer.Point start,
+                                       Map<Long, RouteOptimizer.Point> locatedStops) {
+        List<Long> located = orderIds.stream().filter(locatedStops::containsKey).collect(Collectors.toList());
+        if (start == null || located.size() < 2) {
+            return orderIds;
+        }
+
+        double headDistance = RouteOptimizer.distanceKm(start, locatedStops.get(located.get(0)));
+        double tailDistance = RouteOptimizer.distanceKm(start, locatedStops.get(located.get(located.size() - 1)));
+        if (tailDistance >= headDistance) {
+            return orderIds;
+        }
+
+        List<Long> oriented = new ArrayList<>(located);
+        Collections.reverse(oriented);
+        orderIds.stream().filter(id -> !locatedStops.containsKey(id)).forEach(oriented::add);
+        return oriented;
+    }
+
+    private boolean claimForRoute(Order order, LocalDateTime now) {
+        int claimed = orderRepository.claimStatus(order.getId(), order.getVersion(),
+                ROUTABLE_STATUSES, OrderStatus.PICKUP_ASSIGNED, now);
+        if (claimed == 0) {
+            log.info("Order {} changed while planning, left out of routes", order.getId());
+        }
+        return claimed == 1;
+    }
+
+    private RouteOptimizer.Point firstLocated(List<Long> orderIds, Map<Long, RouteOptimizer.Point> locatedStops) {
+        return orderIds.stream()
+                .map(locatedStops::get)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private RouteOptimizer.Point partnerLocation(DeliveryPartner partner) {
+        if (partner.getCurrentLatitude() == null || partner.getCurrentLongitude() == null) {
+            return null;
+        }
+        return new RouteOptimizer.Point(null,
+                partner.getCurrentLatitude().doubleValue(), partner.getCurrentLongitude().doubleValue());
+    }
+
+    private String zoneOf(Address address) {
+        String pincode = address.getPincode() != null ? address.getPincode().trim() : "";
+        return pincode.length() > zonePincodePrefix ? pincode.substring(0, zonePincodePrefix) : pincode;
+    }
+}
@@ -1,18 +1,16 @@
 package com.ironman.service;
 
-import com.ironman.config.TwilioConfig;
 import com.ironman.dto.request.SmsRequest;
 import com.ironman.dto.response.SmsResponse;
 import com.ironman.model.SmsLog;
 import com.ironman.repository.SmsLogRepository;
-import com.twilio.rest.api.v2010.account.Message;
-import com.twilio.type.PhoneNumber;
+import com.ironman.sms.SmsDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,93 +18,73 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SmsService {
 
-    private final TwilioConfig twilioConfig;
+    private final SmsDispatcher smsDispatcher;
     private final SmsLogRepository smsLogRepository;
 
     /**
-     * Send SMS
+     * Queue SMS on the SmsDispatcher's rate-limited sender pool.
+     * The future completes with the provider's answer; the log row is written later in a batch,
+     * so the response carries no id yet.
      */
-    @Transactional
-    public SmsResponse sendSms(SmsRequest request) {
-        log.info("Sending SMS to: {}", request.getPhoneNumber());
-
-        SmsLog smsLog = new SmsLog();
-        smsLog.setPhoneNumber(request.getPhoneNumber());
-        smsLog.setMessage(request.getMessage());
-        smsLog.setSmsType(request.getSmsType());
-        smsLog.setOrderId(request.getOrderId());
-
-        try {
-            // Send SMS via Twilio
-            Message message = Message.creator(
-                    new PhoneNumber(request.getPhoneNumber()),
-                    new PhoneNumber(twilioConfig.getPhoneNumber()),
-                    request.getMessage()
-            ).create();
-
-            // Log success
-            smsLog.setTwilioSid(message.getSid());
-            smsLog.setStatus("SENT");
-
-            log.info("SMS sent successfully. SID: {}", message.getSid());
-
-        } catch (Exception e) {
-            // Log failure
-            smsLog.setStatus("FAILED");
-            smsLog.setErrorMessage(e.getMessage());
-            log.error("Failed to send SMS: {}", e.getMessage());
-        }
-
-        SmsLog saved = smsLogRepository.save(smsLog);
-        return mapToSmsResponse(saved);
+    public CompletableFuture<SmsResponse> queueSms(SmsRequest request) {
+        log.info("Queueing SMS to: {}", request.getPhoneNumber());
+        return smsDispatcher.submit(request).thenApply(this::mapToSmsResponse);
     }
 
     /**
      * Send order confirmation SMS
      */
-    public SmsResponse sendOrderConfirmationSms(String phoneNumber, String orderNumber, String totalAmount) {
+    public CompletableFuture<SmsResponse> sendOrderConfirmationSms(String phoneNumber, String orderNumber, String totalAmount) {
         log.info("Sending order confirmation SMS for order: {}", orderNumber);
+        return queueSms(orderConfirmationSms(phoneNumber, orderNumber, totalAmount));
+    }
 
+    /**
+     * Build order confirmation SMS
+     */
+    public SmsRequest orderConfirmationSms(String phoneNumber, String orderNumber, String totalAmount) {
         String message = String.format(
                 "IronMan Laundry: Your order %s has been confirmed! Total: %s. " +
                         "We'll notify you when it's picked up. Thank you!",
                 orderNumber, totalAmount
         );
 
-        SmsRequest request = SmsRequest.builder()
+        return SmsRequest.builder()
                 .phoneNumber(phoneNumber)
                 .message(message)
                 .smsType("ORDER_CONFIRMATION")
                 .build();
-
-        return sendSms(request);
     }
 
     /**
      * Send payment success SMS
      */
-    public SmsResponse sendPaymentSuccessSms(String phoneNumber, String orderNumber, String amount) {
+    public CompletableFuture<SmsResponse> sendPaymentSuccessSms(String phoneNumber, String orderNumber, String amount) {
         log.info("Sending payment success SMS for order: {}", orderNumber);
+        return queueSms(paymentSuccessSms(phoneNumber, orderNumber, amount));
+    }
 
+    /**
+     * Build payment success SMS
+     */
+    public SmsRequest paymentSuccessSms(String phoneNumber, String orderNumber, String amount) {
         String message = String.format(
                 "IronMan Laundry: Payment of %s received for order %s. " +
                         "Your order will be processed shortly. Thank you!",
                 amount, orderNumber
         );
 
-        SmsRequest request = SmsRequest.builder()
+        return SmsRequest.builder()
                 .phoneNumber(phoneNumber)
                 .message(message)
                 .smsType("PAYMENT_SUCCESS")
                 .build();
-
-        return sendSms(request);
     }
 
     /**
      * Send OTP SMS
      */
-    public SmsResponse sendOtpSms(String phoneNumber, String otp) {
+    public CompletableFuture<SmsResponse> sendOtpSms(String phoneNumber, String otp) {
         log.info("Sending OTP SMS to: {}", phoneNumber);
 
         String message = String.format(
@@ -121,13 +99,13 @@ public class SmsService {
                 .smsType("OTP")
                 .build();
 
-        return sendSms(request);
+        return queueSms(request);
     }
 
     /**
      * Send order status update SMS
      */
-    public SmsResponse sendOrderStatusSms(String phoneNumber, String orderNumber, String status) {
+    public CompletableFuture<SmsResponse> sendOrderStatusSms(String phoneNumber, String orderNumber, String status) {
         log.info("Sending order status update SMS: {} - {}", orderNumber, status);
 
         String message = getStatusMessage(orderNumber, status);
@@ -138,7 +116,7 @@ public class SmsService {
                 .smsType("STATUS_UPDATE")
                 .build();
 
-        return sendSms(request);
+        return queueSms(request);
     }
 
     /**
@@ -0,0 +1,173 @@
+package com.ironman.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ironman.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-user unread notification counters.
+ * Redis holds the shared counter, a short-lived Caffeine near-cache absorbs badge polling,
+ * and a missing counter is rebuilt lazily with one COUNT query.
+ * Changes are applied after the surrounding transaction commits, so rollbacks never skew the count.
+ *
+ * A rebuild opens a pending-delta key before it counts. Adjustments made while the count is running
+ * collect there and are folded in when the counter is created, so none are lost between the
+ * COUNT and the write.
+ */
+@Service
+@Slf4j
+public class UnreadCounterService {
+
+    private static final String KEY_PREFIX = "notifications:unread:";
+    private static final String PENDING_SUFFIX = ":pending";
+
+    // Adjust the counter if it exists, else the pending deltas of a rebuild in progress, else nothing
+    // (the next read rebuilds from the database). A negative counter means drift, so drop it.
+    private static final RedisScript<Long> ADJUST = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+                    "local value = redis.call('INCRBY', KEYS[1], ARGV[1]) " +
+                    "if value < 0 then redis.call('DEL', KEYS[1]) return nil end " +
+                    "return value end " +
+                    "if redis.call('EXISTS', KEYS[2]) == 1 then redis.call('INCRBY', KEYS[2], ARGV[1]) end " +
+                    "return nil", Long.class);
+
+    // Finish a rebuild: counted value plus pending deltas, unless another rebuild already finished.
+    // A vanished pending key (reset or expired) means the count can't be trusted, so nothing is stored.
+    private static final RedisScript<Long> FINISH_REBUILD = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) " +
+                    "if current then return tonumber(current) end " +
+                    "local pending = redis.call('GET', KEYS[2]) " +
+                    "if not pending then return tonumber(ARGV[1]) end " +
+                    "local value = tonumber(ARGV[1]) + tonumber(pending) " +
+                    "redis.call('DEL', KEYS[2]) " +
+                    "if value < 0 then return tonumber(ARGV[1]) end " +
+                    "redis.call('SET', KEYS[1], value, 'PX', ARGV[2]) " +
+                    "return value", Long.class);
+
+    // Long enough to cover one COUNT query; an abandoned rebuild just expires
+    private static final Duration PENDING_TTL = Duration.ofSeconds(30);
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotificationRepository notificationRepository;
+    private final Cache<Long, Long> nearCache;
+    private final Duration counterTtl;
+
+    public UnreadCounterService(StringRedisTemplate redisTemplate,
+                                NotificationRepository notificationRepository,
+                                @Value("${app.notifications.unread-counter.ttl-minutes:360}") long ttlMinutes,
+                                @Value("${app.notifications.unread-counter.local-ttl-seconds:5}") long localTtlSeconds,
+                                @Value("${app.notifications.unread-counter.local-max-size:100000}") long localMaxSize) {
+        this.redisTemplate = redisTemplate;
+        this.notificationRepository = notificationRepository;
+        this.counterTtl = Duration.ofMinutes(ttlMinutes);
+        this.nearCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .maximumSize(localMaxSize)
+                .build();
+    }
+
+    /**
+     * Current unread count: near-cache, then Redis, then the database
+     */
+    public long getUnreadCount(Long userId) {
+        Long cached = nearCache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long count = readThrough(userId);
+        nearCache.put(userId, count);
+        return count;
+    }
+
+    /**
+     * Add delta (negative to decrement) once the current transaction commits
+     */
+    public void adjust(Long userId, long delta) {
+        afterCommit(() -> {
+            nearCache.invalidate(userId);
+            try {
+                Long value = redisTemplate.execute(ADJUST, List.of(key(userId), pendingKey(userId)),
+                        String.valueOf(delta));
+                if (value != null) {
+                    nearCache.put(userId, value);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Failed to adjust unread counter for user {}: {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Drop the counter (and any rebuild in flight) once the current transaction commits; the next read rebuilds it
+     */
+    public void reset(Long userId) {
+        afterCommit(() -> {
+            nearCache.invalidate(userId);
+            try {
+                redisTemplate.delete(List.of(key(userId), pendingKey(userId)));
+            } catch (DataAccessException e) {
+                log.warn("Failed to reset unread counter for user {}: {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private long readThrough(Long userId) {
+        String key = key(userId);
+        try {
+            String value = redisTemplate.opsForValue().get(key);
+            if (value != null) {
+                return Long.parseLong(value);
+            }
+
+            // Open the pending key before counting, so commits after the COUNT snapshot are kept
+            String pendingKey = pendingKey(userId);
+            redisTemplate.opsForValue().setIfAbsent(pendingKey, "0", PENDING_TTL);
+            long count = notificationRepository.countByUserIdAndIsReadFalse(userId);
+            Long value = redisTemplate.execute(FINISH_REBUILD, List.of(key, pendingKey),
+                    String.valueOf(count), String.valueOf(counterTtl.toMillis()));
+            return value != null ? value : count;
+        } catch (DataAccessException e) {
+            log.warn("Unread counter unavailable for user {}, counting in database: {}", userId, e.getMessage());
+            return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private String pendingKey(Long userId) {
+        return KEY_PREFIX + userId + PENDING_SUFFIX;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ironman.sms;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for Twilio, for load tests and local runs.
+ * Simulates a fixed provider latency; numbers ending in "0000" are rejected.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sms.provider", havingValue = "fake")
+@Slf4j
+public class FakeSmsGateway implements SmsGateway {
+
+    private final long latencyMs;
+    private final AtomicLong sent = new AtomicLong();
+
+    public FakeSmsGateway(@Value("${app.sms.fake.latency-ms:200}") long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public String send(String to, String body) {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending SMS");
+            }
+        }
+
+        if (to.endsWith("0000")) {
+            throw new IllegalArgumentException("Fake gateway rejects " + to);
+        }
+
+        long sequence = sent.incrementAndGet();
+        log.debug("Fake SMS #{} to {}", sequence, to);
+        return "FAKE-" + sequence;
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+}
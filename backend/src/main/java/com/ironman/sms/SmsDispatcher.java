@@ -0,0 +1,150 @@
+package com.ironman.sms;
+
+import com.ironman.dto.request.SmsRequest;
+import com.ironman.model.SmsLog;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Queued SMS sending.
+ * Requests go into a bounded queue and are sent by a small pool of sender threads, throttled by a token bucket
+ * matching the provider's rate limit. No database connection is held while the provider call is in flight:
+ * SmsLog rows are buffered and written in JDBC batches.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SmsDispatcher {
+
+    private static final String INSERT_LOG = "INSERT INTO sms_logs " +
+            "(phone_number, message, sms_type, twilio_sid, status, error_message, order_id, sent_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final SmsGateway smsGateway;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final BlockingQueue<SmsLog> pendingLogs = new LinkedBlockingQueue<>();
+    private ThreadPoolExecutor senders;
+    private Bucket rateLimit;
+
+    @Value("${app.sms.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.sms.senders:8}")
+    private int senderThreads;
+
+    @Value("${app.sms.rate-per-second:10}")
+    private int ratePerSecond;
+
+    @Value("${app.sms.log-batch-size:200}")
+    private int logBatchSize;
+
+    @PostConstruct
+    void start() {
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("sms-sender-"));
+        rateLimit = Bucket.builder()
+                .addLimit(Bandwidth.classic(ratePerSecond, Refill.greedy(ratePerSecond, Duration.ofSeconds(1))))
+                .build();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        senders.shutdown();
+        senders.awaitTermination(30, TimeUnit.SECONDS);
+        flushLogs();
+    }
+
+    /**
+     * Queue a message. The future completes with the logged outcome once the provider answers;
+     * a full queue completes it immediately as FAILED.
+     */
+    public CompletableFuture<SmsLog> submit(SmsRequest request) {
+        try {
+            return CompletableFuture.supplyAsync(() -> deliver(request), senders);
+        } catch (RejectedExecutionException e) {
+            log.warn("SMS queue full ({} pending), rejecting message to {}", senders.getQueue().size(),
+                    request.getPhoneNumber());
+            return CompletableFuture.completedFuture(record(request, null, "SMS queue full"));
+        }
+    }
+
+    /**
+     * Write buffered SmsLog rows in batches
+     */
+    @Scheduled(fixedDelayString = "${app.sms.log-flush-interval-ms:500}")
+    public void flushLogs() {
+        List<SmsLog> batch = new ArrayList<>(logBatchSize);
+        while (pendingLogs.drainTo(batch, logBatchSize) > 0) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_LOG, batch, batch.size(), (ps, smsLog) -> {
+                    ps.setString(1, smsLog.getPhoneNumber());
+                    ps.setString(2, smsLog.getMessage());
+                    ps.setString(3, smsLog.getSmsType());
+                    ps.setString(4, smsLog.getTwilioSid());
+                    ps.setString(5, smsLog.getStatus());
+                    ps.setString(6, smsLog.getErrorMessage());
+                    ps.setObject(7, smsLog.getOrderId());
+                    ps.setTimestamp(8, Timestamp.valueOf(smsLog.getSentAt()));
+                });
+            } catch (Exception e) {
+                log.error("Failed to write {} SMS logs: {}", batch.size(), e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+
+    public int getQueuedCount() {
+        return senders.getQueue().size();
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private SmsLog deliver(SmsRequest request) {
+        try {
+            rateLimit.asBlocking().consume(1);
+            String sid = smsGateway.send(request.getPhoneNumber(), request.getMessage());
+            log.info("SMS sent successfully. SID: {}", sid);
+            return record(request, sid, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return record(request, null, "Interrupted before sending");
+        } catch (Exception e) {
+            log.error("Failed to send SMS: {}", e.getMessage());
+            return record(request, null, e.getMessage());
+        }
+    }
+
+    private SmsLog record(SmsRequest request, String sid, String error) {
+        SmsLog smsLog = new SmsLog();
+        smsLog.setPhoneNumber(request.getPhoneNumber());
+        smsLog.setMessage(request.getMessage());
+        smsLog.setSmsType(request.getSmsType());
+        smsLog.setOrderId(request.getOrderId());
+        smsLog.setTwilioSid(sid);
+        smsLog.setStatus(error == null ? "SENT" : "FAILED");
+        smsLog.setErrorMessage(error);
+        smsLog.setSentAt(LocalDateTime.now());
+        pendingLogs.add(smsLog);
+        return smsLog;
+    }
+}
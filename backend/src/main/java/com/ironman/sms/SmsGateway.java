@@ -0,0 +1,15 @@
+package com.ironman.sms;
+
+/**
+ * Provider-facing SMS transport
+ */
+public interface SmsGateway {
+
+    /**
+     * Send one message
+     *
+     * @return provider message id
+     * @throws RuntimeException when the provider rejects the message or cannot be reached
+     */
+    String send(String to, String body);
+}
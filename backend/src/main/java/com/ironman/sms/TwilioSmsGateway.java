@@ -0,0 +1,26 @@
+package com.ironman.sms;
+
+import com.ironman.config.TwilioConfig;
+import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.type.PhoneNumber;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.sms.provider", havingValue = "twilio", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TwilioSmsGateway implements SmsGateway {
+
+    private final TwilioConfig twilioConfig;
+
+    @Override
+    public String send(String to, String body) {
+        Message message = Message.creator(
+                new PhoneNumber(to),
+                new PhoneNumber(twilioConfig.getPhoneNumber()),
+                body
+        ).create();
+        return message.getSid();
+    }
+}
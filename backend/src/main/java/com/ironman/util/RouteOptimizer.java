@@ -0,0 +1,157 @@
+package com.ironman.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Multi-stop route heuristics for pickup/delivery runs.
+ * Nearest neighbour builds the initial tour, 2-opt then removes crossings.
+ * Routes are open paths - partners do not have to return to the start.
+ */
+public class RouteOptimizer {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final int MAX_TWO_OPT_PASSES = 50;
+    private static final double EPSILON = 1e-9;
+
+    private RouteOptimizer() {
+    }
+
+    public record Point(Long id, double latitude, double longitude) {
+    }
+
+    /**
+     * Order stops into a short route.
+     *
+     * @param start optional fixed starting point (e.g. partner location), not included in the result
+     * @param stops stops to visit
+     */
+    public static List<Point> optimize(Point start, List<Point> stops) {
+        if (stops.size() <= 1) {
+            return new ArrayList<>(stops);
+        }
+
+        boolean anchored = start != null;
+        List<Point> nodes = new ArrayList<>(stops.size() + 1);
+        if (anchored) {
+            nodes.add(start);
+        }
+        nodes.addAll(stops);
+
+        double[][] dist = distanceMatrix(nodes);
+        int[] tour = nearestNeighbour(dist);
+        twoOpt(tour, dist, anchored ? 1 : 0);
+
+        List<Point> route = new ArrayList<>(stops.size());
+        for (int i = anchored ? 1 : 0; i < tour.length; i++) {
+            route.add(nodes.get(tour[i]));
+        }
+        return route;
+    }
+
+    /**
+     * Total length of a route in km, including the leg from the start point if given
+     */
+    public static double routeDistanceKm(Point start, List<Point> route) {
+        double total = 0;
+        Point previous = start;
+        for (Point point : route) {
+            if (previous != null) {
+                total += distanceKm(previous, point);
+            }
+            previous = point;
+        }
+        return total;
+    }
+
+    /**
+     * Great-circle distance between two points (haversine)
+     */
+    public static double distanceKm(Point a, Point b) {
+        double dLat = Math.toRadians(b.latitude() - a.latitude());
+        double dLon = Math.toRadians(b.longitude() - a.longitude());
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(a.latitude())) * Math.cos(Math.toRadians(b.latitude()))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(h)));
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private static double[][] distanceMatrix(List<Point> nodes) {
+        int n = nodes.size();
+        double[][] dist = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double d = distanceKm(nodes.get(i), nodes.get(j));
+                dist[i][j] = d;
+                dist[j][i] = d;
+            }
+        }
+        return dist;
+    }
+
+    private static int[] nearestNeighbour(double[][] dist) {
+        int n = dist.length;
+        int[] tour = new int[n];
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+
+        for (int i = 1; i < n; i++) {
+            int current = tour[i - 1];
+            int next = -1;
+            for (int candidate = 0; candidate < n; candidate++) {
+                if (!visited[candidate] && (next == -1 || dist[current][candidate] < dist[current][next])) {
+                    next = candidate;
+                }
+            }
+            tour[i] = next;
+            visited[next] = true;
+        }
+        return tour;
+    }
+
+    /**
+     * Reverse segments while that shortens the open path. Positions before firstMovable stay fixed.
+     */
+    private static void twoOpt(int[] tour, double[][] dist, int firstMovable) {
+        int n = tour.length;
+        boolean improved = true;
+        int passes = 0;
+
+        while (improved && passes++ < MAX_TWO_OPT_PASSES) {
+            improved = false;
+            for (int i = firstMovable; i < n - 1; i++) {
+                for (int k = i + 1; k < n; k++) {
+                    int b = tour[i];
+                    int c = tour[k];
+                    double delta = 0;
+                    if (i > 0) {
+                        int a = tour[i - 1];
+                        delta += dist[a][c] - dist[a][b];
+                    }
+                    if (k + 1 < n) {
+                        int d = tour[k + 1];
+                        delta += dist[b][d] - dist[c][d];
+                    }
+                    if (delta < -EPSILON) {
+                        reverse(tour, i, k);
+                        improved = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int tmp = tour[from];
+            tour[from] = tour[to];
+            tour[to] = tmp;
+            from++;
+            to--;
+        }
+    }
+}
@@ -1,49 +1,111 @@
 package com.ironman.util;
 
-import lombok.extern.slf4j.Slf4j;
+import com.ironman.audit.AuditEvent;
+import com.ironman.audit.AuditEventType;
+import com.ironman.audit.AuditLogWriter;
+import com.ironman.security.ClientIpResolver;
+import com.ironman.security.UserDetailsImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.time.Instant;
+
+/**
+ * Records security audit events. Calls only build a record and hand it to AuditLogWriter -
+ * nothing is formatted or written on the request thread.
+ */
 @Component
-@Slf4j
+@RequiredArgsConstructor
 public class SecurityAuditLogger {
 
+    private final AuditLogWriter auditLogWriter;
+    private final ClientIpResolver clientIpResolver;
+
     /**
      * Log authentication attempt
      */
     public void logAuthAttempt(String phone, boolean success) {
-        if (success) {
-            log.info("SECURITY AUDIT - Login SUCCESS: phone={}", phone);
-        } else {
-            log.warn("SECURITY AUDIT - Login FAILED: phone={}", phone);
-        }
+        publish(success ? AuditEventType.LOGIN_SUCCESS : AuditEventType.LOGIN_FAILURE,
+                null, phone, currentIp(), "LOGIN", null, null);
+    }
+
+    /**
+     * Log authentication attempt completed off the request thread
+     */
+    public void logAuthAttempt(String phone, boolean success, String ip) {
+        publish(success ? AuditEventType.LOGIN_SUCCESS : AuditEventType.LOGIN_FAILURE,
+                null, phone, ip, "LOGIN", null, null);
+    }
+
+    /**
+     * Client IP of the request on this thread, for events recorded later on another thread
+     */
+    public String currentRequestIp() {
+        return currentIp();
     }
 
     /**
      * Log failed authentication attempts (potential brute force)
      */
     public void logSuspiciousActivity(String phone, String ip) {
-        log.warn("SECURITY AUDIT - SUSPICIOUS ACTIVITY: phone={}, ip={}", phone, ip);
+        publish(AuditEventType.SUSPICIOUS_ACTIVITY, null, phone, ip, null, null, null);
     }
 
     /**
      * Log unauthorized access attempt
      */
     public void logUnauthorizedAccess(String endpoint, String ip) {
-        log.warn("SECURITY AUDIT - UNAUTHORIZED ACCESS: endpoint={}, ip={}", endpoint, ip);
+        publish(AuditEventType.UNAUTHORIZED_ACCESS, currentUserId(), null, ip, null, endpoint, null);
     }
 
     /**
-     * Log data modification
+     * Log an admin change made by the signed-in user
      */
-    public void logDataModification(String userId, String action, String entity) {
-        log.info("SECURITY AUDIT - DATA MODIFICATION: userId={}, action={}, entity={}",
-                userId, action, entity);
+    public void logAdminAction(String action, String entity, String detail) {
+        publish(AuditEventType.DATA_MODIFICATION, currentUserId(), null, currentIp(), action, entity, detail);
     }
 
     /**
      * Log rate limit violation
      */
     public void logRateLimitViolation(String ip) {
-        log.warn("SECURITY AUDIT - RATE LIMIT VIOLATION: ip={}", ip);
+        publish(AuditEventType.RATE_LIMIT_EXCEEDED, null, null, ip, null, null, null);
+    }
+
+    /**
+     * Log rate limit violation with the rule and route that tripped
+     */
+    public void logRateLimitViolation(String ip, Long userId, String rule, String path) {
+        publish(AuditEventType.RATE_LIMIT_EXCEEDED, userId, null, ip, null, rule, path);
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private void publish(AuditEventType type, Long userId, String principal, String ip,
+                         String action, String resource, String detail) {
+        auditLogWriter.publish(new AuditEvent(type, Instant.now(), userId, principal, ip, action, resource, detail));
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private String currentIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return clientIpResolver.resolve(servletAttributes.getRequest());
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
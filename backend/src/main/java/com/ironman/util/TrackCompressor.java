@@ -0,0 +1,182 @@
+package com.ironman.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Compact storage for GPS tracks.
+ * Tracks are simplified with Douglas-Peucker, then stored as delta-encoded varint strings:
+ * coordinates use the standard encoded polyline format (1e-5 degrees) so map SDKs can decode them
+ * directly, and timestamps use the same encoding for second offsets from the track start.
+ */
+public class TrackCompressor {
+
+    private static final double COORDINATE_FACTOR = 1e5;
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
+    private TrackCompressor() {
+    }
+
+    public record TrackPoint(double latitude, double longitude, long epochSecond) {
+    }
+
+    /**
+     * Douglas-Peucker simplification. First and last points are always kept.
+     *
+     * @param toleranceMeters max distance a dropped point may lie from the simplified line
+     */
+    public static List<TrackPoint> simplify(List<TrackPoint> points, double toleranceMeters) {
+        int n = points.size();
+        if (n <= 2 || toleranceMeters <= 0) {
+            return new ArrayList<>(points);
+        }
+
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+
+        Deque<int[]> segments = new ArrayDeque<>();
+        segments.push(new int[]{0, n - 1});
+        while (!segments.isEmpty()) {
+            int[] segment = segments.pop();
+            int from = segment[0];
+            int to = segment[1];
+
+            double maxDistance = 0;
+            int farthest = -1;
+            for (int i = from + 1; i < to; i++) {
+                double distance = distanceToSegmentMeters(points.get(i), points.get(from), points.get(to));
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    farthest = i;
+                }
+            }
+
+            if (farthest != -1 && maxDistance > toleranceMeters) {
+                keep[farthest] = true;
+                segments.push(new int[]{from, farthest});
+                segments.push(new int[]{farthest, to});
+            }
+        }
+
+        List<TrackPoint> simplified = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) {
+                simplified.add(points.get(i));
+            }
+        }
+        return simplified;
+    }
+
+    /**
+     * Encode coordinates as an encoded polyline
+     */
+    public static String encodeCoordinates(List<TrackPoint> points) {
+        StringBuilder sb = new StringBuilder(points.size() * 8);
+        long previousLat = 0;
+        long previousLng = 0;
+        for (TrackPoint point : points) {
+            long lat = Math.round(point.latitude() * COORDINATE_FACTOR);
+            long lng = Math.round(point.longitude() * COORDINATE_FACTOR);
+            encodeValue(lat - previousLat, sb);
+            encodeValue(lng - previousLng, sb);
+            previousLat = lat;
+            previousLng = lng;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Encode timestamps as second deltas, starting from startEpochSecond
+     */
+    public static String encodeTimestamps(List<TrackPoint> points, long startEpochSecond) {
+        StringBuilder sb = new StringBuilder(points.size() * 2);
+        long previous = startEpochSecond;
+        for (TrackPoint point : points) {
+            encodeValue(point.epochSecond() - previous, sb);
+            previous = point.epochSecond();
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decode a track written by encodeCoordinates/encodeTimestamps
+     */
+    public static List<TrackPoint> decode(String polyline, String timestamps, long startEpochSecond) {
+        List<Long> coordinates = decodeValues(polyline);
+        List<Long> times = decodeValues(timestamps);
+        if (coordinates.size() != times.size() * 2) {
+            throw new IllegalArgumentException("Polyline and timestamps have different point counts");
+        }
+
+        List<TrackPoint> points = new ArrayList<>(times.size());
+        long lat = 0;
+        long lng = 0;
+        long time = startEpochSecond;
+        for (int i = 0; i < times.size(); i++) {
+            lat += coordinates.get(2 * i);
+            lng += coordinates.get(2 * i + 1);
+            time += times.get(i);
+            points.add(new TrackPoint(lat / COORDINATE_FACTOR, lng / COORDINATE_FACTOR, time));
+        }
+        return points;
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    /**
+     * Zig-zag the signed delta, then write it in 5-bit groups offset into printable ASCII
+     */
+    private static void encodeValue(long value, StringBuilder sb) {
+        long zigzag = value < 0 ? ~(value << 1) : value << 1;
+        while (zigzag >= 0x20) {
+            sb.append((char) ((0x20 | (zigzag & 0x1f)) + 63));
+            zigzag >>>= 5;
+        }
+        sb.append((char) (zigzag + 63));
+    }
+
+    private static List<Long> decodeValues(String encoded) {
+        List<Long> values = new ArrayList<>();
+        int index = 0;
+        while (index < encoded.length()) {
+            long result = 0;
+            int shift = 0;
+            int chunk;
+            do {
+                chunk = encoded.charAt(index++) - 63;
+                result |= (long) (chunk & 0x1f) << shift;
+                shift += 5;
+            } while (chunk >= 0x20);
+            values.add((result & 1) != 0 ? ~(result >>> 1) : result >>> 1);
+        }
+        return values;
+    }
+
+    /**
+     * Distance from p to segment a-b, on a local equirectangular projection (fine for city-scale tracks)
+     */
+    private static double distanceToSegmentMeters(TrackPoint p, TrackPoint a, TrackPoint b) {
+        double cosLat = Math.cos(Math.toRadians(a.latitude()));
+        double ax = 0;
+        double ay = 0;
+        double bx = (b.longitude() - a.longitude()) * cosLat * METERS_PER_DEGREE;
+        double by = (b.latitude() - a.latitude()) * METERS_PER_DEGREE;
+        double px = (p.longitude() - a.longitude()) * cosLat * METERS_PER_DEGREE;
+        double py = (p.latitude() - a.latitude()) * METERS_PER_DEGREE;
+
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared == 0) {
+            return Math.hypot(px - ax, py - ay);
+        }
+
+        double t = Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lengthSquared));
+        return Math.hypot(px - (ax + t * dx), py - (ay + t * dy));
+    }
+}
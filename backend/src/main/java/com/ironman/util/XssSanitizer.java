@@ -0,0 +1,70 @@
+package com.ironman.util;
+
+import org.apache.commons.text.StringEscapeUtils;
+
+import java.util.regex.Pattern;
+
+/**
+ * HTML-escapes request input and strips script-ish fragments.
+ * One scan decides whether a value needs any work; clean values (the vast majority) are returned as-is.
+ * Otherwise: escapeHtml4, then the precompiled strip patterns.
+ */
+public class XssSanitizer {
+
+    // Only matter after escaping - script tags themselves are already escaped to &lt;script&gt;
+    private static final Pattern[] STRIP_PATTERNS = {
+            Pattern.compile("eval\\((.*?)\\)"),
+            Pattern.compile("expression\\((.*?)\\)"),
+            Pattern.compile("javascript:"),
+            Pattern.compile("vbscript:"),
+            Pattern.compile("onload(.*?)=")
+    };
+
+    private static final String[] STRIP_MARKERS = {"eval(", "expression(", "javascript:", "vbscript:", "onload"};
+
+    private XssSanitizer() {
+    }
+
+    public static String clean(String value) {
+        if (value == null || !needsCleaning(value)) {
+            return value;
+        }
+
+        String cleaned = StringEscapeUtils.escapeHtml4(value);
+        for (Pattern pattern : STRIP_PATTERNS) {
+            cleaned = pattern.matcher(cleaned).replaceAll("");
+        }
+        return cleaned;
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    /**
+     * True if escapeHtml4 could change the value (markup characters or anything non-ASCII)
+     * or a strip pattern could match
+     */
+    private static boolean needsCleaning(String value) {
+        boolean markerChar = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '<' || c == '>' || c == '&' || c == '"' || c > 0x7e) {
+                return true;
+            }
+            if (c == '(' || c == ':' || c == 'd') {
+                markerChar = true; // every marker contains '(', ':' or the 'd' of onload
+            }
+        }
+        if (!markerChar) {
+            return false;
+        }
+
+        for (String marker : STRIP_MARKERS) {
+            if (value.contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
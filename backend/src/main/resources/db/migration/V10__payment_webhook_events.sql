@@ -0,0 +1,22 @@
+-- Razorpay webhook inbox: stored on arrival, applied asynchronously, deduplicated by event id
+CREATE TABLE IF NOT EXISTS payment_webhook_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_id VARCHAR(100) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    razorpay_order_id VARCHAR(100),
+    razorpay_payment_id VARCHAR(100),
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'RECEIVED',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_at TIMESTAMP,
+    processed_at TIMESTAMP,
+    CONSTRAINT uq_payment_webhook_events_event_id UNIQUE (event_id)
+);
+
+-- Worker scan over unfinished events, and the in-flight check per Razorpay order
+CREATE INDEX IF NOT EXISTS idx_payment_webhook_events_pending
+    ON payment_webhook_events(id) WHERE status IN ('RECEIVED', 'PROCESSING');
+CREATE INDEX IF NOT EXISTS idx_payment_webhook_events_order
+    ON payment_webhook_events(razorpay_order_id, status);
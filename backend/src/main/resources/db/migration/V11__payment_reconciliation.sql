@@ -0,0 +1,3 @@
+-- Reconciliation keyset scan over PENDING payments only
+CREATE INDEX IF NOT EXISTS idx_payments_pending_id
+    ON payments(id) WHERE status = 'PENDING';
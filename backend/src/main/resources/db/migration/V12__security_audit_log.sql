@@ -0,0 +1,16 @@
+-- Append-only security audit trail, written in batches by the audit writer thread
+CREATE TABLE IF NOT EXISTS security_audit_log (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(40) NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    user_id BIGINT,
+    principal VARCHAR(100),
+    ip_address VARCHAR(64),
+    action VARCHAR(100),
+    resource VARCHAR(255),
+    detail TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_security_audit_log_occurred_at ON security_audit_log(occurred_at);
+CREATE INDEX IF NOT EXISTS idx_security_audit_log_user ON security_audit_log(user_id, occurred_at)
+    WHERE user_id IS NOT NULL;
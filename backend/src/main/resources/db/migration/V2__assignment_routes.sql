@@ -0,0 +1,10 @@
+-- Route batching: assignments planned together share a route id and a stop sequence
+ALTER TABLE assignments ADD COLUMN IF NOT EXISTS route_id VARCHAR(50);
+ALTER TABLE assignments ADD COLUMN IF NOT EXISTS route_sequence INTEGER;
+
+-- my-assignments reads a partner's stops in route order
+CREATE INDEX IF NOT EXISTS idx_assignments_partner_route ON assignments(partner_id, assigned_at DESC, route_id, route_sequence);
+CREATE INDEX IF NOT EXISTS idx_assignments_route_id ON assignments(route_id);
+
+-- Route planning picks up pending orders per date and slot
+CREATE INDEX IF NOT EXISTS idx_orders_pickup_slot_status ON orders(pickup_date, pickup_slot, status);
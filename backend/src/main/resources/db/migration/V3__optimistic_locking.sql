@@ -0,0 +1,15 @@
+-- Optimistic locking versions for orders and assignments
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE orders SET version = 0 WHERE version IS NULL;
+ALTER TABLE orders ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE orders ALTER COLUMN version SET NOT NULL;
+
+ALTER TABLE assignments ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE assignments SET version = 0 WHERE version IS NULL;
+ALTER TABLE assignments ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE assignments ALTER COLUMN version SET NOT NULL;
+
+-- At most one active (ASSIGNED/ACCEPTED) assignment per order and type
+CREATE UNIQUE INDEX IF NOT EXISTS uq_assignments_active_order_type
+    ON assignments(order_id, assignment_type)
+    WHERE status IN ('ASSIGNED', 'ACCEPTED');
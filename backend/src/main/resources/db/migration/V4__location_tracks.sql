@@ -0,0 +1,20 @@
+-- Compacted tracks: one row per finished assignment replaces its raw location_tracking points
+CREATE TABLE IF NOT EXISTS location_tracks (
+    id BIGSERIAL PRIMARY KEY,
+    partner_id BIGINT NOT NULL REFERENCES delivery_partners(id),
+    assignment_id BIGINT NOT NULL UNIQUE REFERENCES assignments(id),
+    polyline TEXT NOT NULL,
+    time_offsets TEXT NOT NULL,
+    point_count INTEGER NOT NULL,
+    raw_point_count INTEGER NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    ended_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_location_tracks_partner_started ON location_tracks(partner_id, started_at DESC);
+
+-- Raw point reads: latest points per partner, all points per assignment
+CREATE INDEX IF NOT EXISTS idx_location_tracking_partner_recorded ON location_tracking(partner_id, recorded_at DESC);
+CREATE INDEX IF NOT EXISTS idx_location_tracking_assignment_recorded ON location_tracking(assignment_id, recorded_at);
@@ -0,0 +1,94 @@
+-- Monthly range partitioning for the append-only location_tracking and order_status_history tables.
+-- Future partitions are created ahead of time by PartitionMaintenanceJob, which also applies retention.
+
+-- Creates (if missing) the partition of parent_table covering the month of month_start
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent_table TEXT, month_start DATE)
+RETURNS TEXT AS $$
+DECLARE
+    partition_start DATE := date_trunc('month', month_start)::DATE;
+    partition_name TEXT := parent_table || '_p' || to_char(partition_start, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, parent_table, partition_start,
+                   (partition_start + INTERVAL '1 month')::DATE);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Creates monthly partitions from the month of first_month up to months_ahead months past the current one
+CREATE OR REPLACE FUNCTION create_monthly_partitions(parent_table TEXT, first_month DATE, months_ahead INTEGER)
+RETURNS VOID AS $$
+DECLARE
+    m DATE := date_trunc('month', first_month)::DATE;
+BEGIN
+    WHILE m <= (date_trunc('month', now()) + make_interval(months => months_ahead))::DATE LOOP
+        PERFORM create_monthly_partition(parent_table, m);
+        m := (m + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- =============================================
+-- location_tracking
+-- =============================================
+
+ALTER TABLE location_tracking RENAME TO location_tracking_legacy;
+
+CREATE TABLE location_tracking (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    partner_id BIGINT NOT NULL REFERENCES delivery_partners(id),
+    assignment_id BIGINT REFERENCES assignments(id),
+    latitude NUMERIC(10, 8) NOT NULL,
+    longitude NUMERIC(11, 8) NOT NULL,
+    accuracy NUMERIC(5, 2),
+    recorded_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, recorded_at)
+) PARTITION BY RANGE (recorded_at);
+
+SELECT create_monthly_partitions('location_tracking',
+    COALESCE((SELECT MIN(recorded_at) FROM location_tracking_legacy), now())::DATE, 3);
+
+INSERT INTO location_tracking (id, partner_id, assignment_id, latitude, longitude, accuracy, recorded_at)
+SELECT id, partner_id, assignment_id, latitude, longitude, accuracy, COALESCE(recorded_at, now())
+FROM location_tracking_legacy;
+
+SELECT setval(pg_get_serial_sequence('location_tracking', 'id'),
+              COALESCE((SELECT MAX(id) FROM location_tracking), 0) + 1, false);
+
+DROP TABLE location_tracking_legacy;
+
+CREATE INDEX IF NOT EXISTS idx_location_tracking_partner_recorded ON location_tracking(partner_id, recorded_at DESC);
+CREATE INDEX IF NOT EXISTS idx_location_tracking_assignment_recorded ON location_tracking(assignment_id, recorded_at);
+
+-- =============================================
+-- order_status_history
+-- =============================================
+
+ALTER TABLE order_status_history RENAME TO order_status_history_legacy;
+
+CREATE TABLE order_status_history (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    order_id BIGINT NOT NULL REFERENCES orders(id),
+    previous_status VARCHAR(30),
+    new_status VARCHAR(30) NOT NULL,
+    notes TEXT,
+    changed_by VARCHAR(255),
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, changed_at)
+) PARTITION BY RANGE (changed_at);
+
+SELECT create_monthly_partitions('order_status_history',
+    COALESCE((SELECT MIN(changed_at) FROM order_status_history_legacy), now())::DATE, 3);
+
+INSERT INTO order_status_history (id, order_id, previous_status, new_status, notes, changed_by, changed_at)
+SELECT id, order_id, previous_status, new_status, notes, changed_by, COALESCE(changed_at, now())
+FROM order_status_history_legacy;
+
+SELECT setval(pg_get_serial_sequence('order_status_history', 'id'),
+              COALESCE((SELECT MAX(id) FROM order_status_history), 0) + 1, false);
+
+DROP TABLE order_status_history_legacy;
+
+-- Timeline reads are per order and bounded below by the order's creation time
+CREATE INDEX IF NOT EXISTS idx_status_history_order_id ON order_status_history(order_id, changed_at);
+CREATE INDEX IF NOT EXISTS idx_status_history_changed_at ON order_status_history(changed_at);
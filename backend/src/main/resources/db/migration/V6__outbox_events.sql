@@ -0,0 +1,23 @@
+-- Transactional outbox: notification/SMS/email side effects written with the order or payment change
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    channel VARCHAR(20) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    order_id BIGINT,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    claimed_at TIMESTAMP,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);
+
+-- Dispatcher polls due rows per channel; only unfinished rows are indexed
+CREATE INDEX IF NOT EXISTS idx_outbox_events_due
+    ON outbox_events(channel, next_attempt_at)
+    WHERE status IN ('PENDING', 'PROCESSING');
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_status_processed ON outbox_events(status, processed_at);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_order ON outbox_events(order_id);
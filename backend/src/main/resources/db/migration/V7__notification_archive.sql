@@ -0,0 +1,20 @@
+-- Cold storage for old notifications; rows are moved here in batches by NotificationArchivalJob
+CREATE TABLE IF NOT EXISTS notifications_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    order_id BIGINT,
+    is_read BOOLEAN,
+    fcm_sent BOOLEAN,
+    fcm_token VARCHAR(255),
+    created_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_archive_user_created ON notifications_archive(user_id, created_at DESC);
+
+-- Archival scans by age; bulk mark-as-read and unread counts only touch unread rows
+CREATE INDEX IF NOT EXISTS idx_notifications_created_at ON notifications(created_at);
+CREATE INDEX IF NOT EXISTS idx_notifications_user_unread ON notifications(user_id) WHERE is_read = false;
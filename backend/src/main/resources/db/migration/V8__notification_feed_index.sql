@@ -0,0 +1,10 @@
+-- Keyset feed: WHERE user_id = ? AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created ON notifications(user_id, created_at DESC, id DESC);
+
+-- Unread feed and unread counts; supersedes the plain partial index from V7
+CREATE INDEX IF NOT EXISTS idx_notifications_user_unread_created
+    ON notifications(user_id, created_at DESC, id DESC) WHERE is_read = false;
+DROP INDEX IF EXISTS idx_notifications_user_unread;
+
+-- user_id alone is a prefix of the feed index
+DROP INDEX IF EXISTS idx_notifications_user_id;
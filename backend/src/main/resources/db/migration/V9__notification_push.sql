@@ -0,0 +1,9 @@
+-- Push dispatch claims
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS fcm_claimed_at TIMESTAMP;
+
+-- Only rows still waiting for a push are indexed, so the dispatcher's scan stays tiny
+CREATE INDEX IF NOT EXISTS idx_notifications_push_pending
+    ON notifications(id) WHERE fcm_sent = false AND fcm_token IS NOT NULL;
+
+-- Invalid-token pruning looks users up by token
+CREATE INDEX IF NOT EXISTS idx_users_fcm_token ON users(fcm_token) WHERE fcm_token IS NOT NULL;
@@ -0,0 +1,72 @@
+package com.ironman.controller;
+
+import com.ironman.dto.request.PaymentRequest;
+import com.ironman.dto.response.RazorpayOrderResponse;
+import com.ironman.security.JwtTokenProvider;
+import com.ironman.security.UserDetailsImpl;
+import com.ironman.service.PaymentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaymentControllerAsyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @MockitoBean
+    private PaymentService paymentService;
+
+    @Test
+    void authenticatedAsyncResultIsDispatched() throws Exception {
+        RazorpayOrderResponse razorpayOrder = RazorpayOrderResponse.builder()
+                .razorpayOrderId("order_test")
+                .internalOrderId(1L)
+                .amount(10000)
+                .currency("INR")
+                .build();
+        when(paymentService.createRazorpayOrder(any(PaymentRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(razorpayOrder));
+
+        String token = jwtTokenProvider.generateToken(UserDetailsImpl.fromClaims(1L, "9999999999", "CUSTOMER"));
+
+        MvcResult started = mockMvc.perform(post("/api/v1/payments/create-order")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderId\": 1}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // The ASYNC re-dispatch carries no JWT authentication of its own
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.razorpayOrderId").value("order_test"));
+    }
+
+    @Test
+    void anonymousRequestIsRejectedBeforeAsyncStart() throws Exception {
+        mockMvc.perform(post("/api/v1/payments/create-order")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderId\": 1}"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().is4xxClientError());
+    }
+}
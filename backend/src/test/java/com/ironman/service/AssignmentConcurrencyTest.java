@@ -0,0 +1,210 @@
+package com.ironman.service;
+
+import com.ironman.dto.response.AssignmentResponse;
+import com.ironman.exception.CustomException;
+import com.ironman.model.*;
+import com.ironman.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AssignmentConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private DeliveryPartnerRepository partnerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<DeliveryPartner> partners = new ArrayList<>();
+    private Address address;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        User customer = createUser(UserRole.CUSTOMER);
+
+        address = new Address();
+        address.setUser(customer);
+        address.setLabel("Home");
+        address.setAddressLine1("1 Test Street");
+        address.setCity("Pune");
+        address.setState("Maharashtra");
+        address.setPincode("411001");
+        address = addressRepository.save(address);
+
+        order = new Order();
+        order.setOrderNumber("TEST-" + UUID.randomUUID().toString().substring(0, 8));
+        order.setCustomer(customer);
+        order.setStatus(OrderStatus.PENDING);
+        order.setPickupAddress(address);
+        order.setDeliveryAddress(address);
+        order.setPickupSlot("MORNING");
+        order.setPickupDate(LocalDate.now().plusDays(1));
+        order.setExpectedDeliveryDate(LocalDate.now().plusDays(3));
+        order.setSubtotal(BigDecimal.valueOf(100));
+        order.setTotalAmount(BigDecimal.valueOf(100));
+        order = orderRepository.save(order);
+
+        for (int i = 0; i < 2; i++) {
+            DeliveryPartner partner = new DeliveryPartner();
+            partner.setUser(createUser(UserRole.DELIVERY_PARTNER));
+            partner.setVehicleType("BIKE");
+            partner.setVehicleNumber("MH" + randomDigits());
+            partner.setLicenseNumber("DL" + randomDigits());
+            partner.setStatus(PartnerStatus.APPROVED);
+            partner.setIsAvailable(true);
+            partners.add(partnerRepository.save(partner));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        assignmentRepository.deleteAll(assignmentRepository.findByOrderId(order.getId()));
+        orderRepository.deleteById(order.getId());
+        addressRepository.delete(address);
+        partnerRepository.deleteAll(partners);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void concurrentPickupDispatchCreatesSingleActiveAssignment() throws Exception {
+        List<Callable<AssignmentResponse>> dispatchers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Long partnerId = partners.get(i % partners.size()).getId();
+            dispatchers.add(() -> assignmentService.assignPickup(order.getId(), partnerId));
+        }
+
+        Outcome outcome = runConcurrently(dispatchers);
+
+        assertThat(outcome.successes()).isEqualTo(1);
+        assertThat(outcome.conflicts()).isEqualTo(THREADS - 1);
+        assertThat(activeAssignments()).hasSize(1);
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getStatus())
+                .isEqualTo(OrderStatus.PICKUP_ASSIGNED);
+    }
+
+    @Test
+    void acceptAndRejectRaceHasSingleWinner() throws Exception {
+        DeliveryPartner partner = partners.get(0);
+        AssignmentResponse assignment = assignmentService.assignPickup(order.getId(), partner.getId());
+        Long userId = partner.getUser().getId();
+
+        List<Callable<AssignmentResponse>> partnerCalls = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            if (i % 2 == 0) {
+                partnerCalls.add(() -> assignmentService.acceptAssignment(assignment.getId(), userId));
+            } else {
+                partnerCalls.add(() -> assignmentService.rejectAssignment(assignment.getId(), userId, "Busy"));
+            }
+        }
+
+        Outcome outcome = runConcurrently(partnerCalls);
+
+        assertThat(outcome.successes()).isEqualTo(1);
+        assertThat(outcome.conflicts()).isEqualTo(THREADS - 1);
+
+        Assignment result = assignmentRepository.findById(assignment.getId()).orElseThrow();
+        OrderStatus orderStatus = orderRepository.findById(order.getId()).orElseThrow().getStatus();
+        if (result.getStatus() == AssignmentStatus.ACCEPTED) {
+            assertThat(orderStatus).isEqualTo(OrderStatus.PICKUP_ASSIGNED);
+        } else {
+            assertThat(result.getStatus()).isEqualTo(AssignmentStatus.REJECTED);
+            assertThat(orderStatus).isEqualTo(OrderStatus.PENDING);
+        }
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private record Outcome(int successes, int conflicts) {
+    }
+
+    /**
+     * Release all calls at once and count how many succeed vs. are turned away by the service
+     */
+    private Outcome runConcurrently(List<Callable<AssignmentResponse>> calls) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(calls.size());
+        CountDownLatch ready = new CountDownLatch(calls.size());
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Callable<AssignmentResponse> call : calls) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    try {
+                        call.call();
+                        successes.incrementAndGet();
+                    } catch (CustomException e) {
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            ready.await(10, TimeUnit.SECONDS);
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new Outcome(successes.get(), conflicts.get());
+    }
+
+    private List<Assignment> activeAssignments() {
+        return assignmentRepository.findByOrderId(order.getId()).stream()
+                .filter(a -> a.getStatus() == AssignmentStatus.ASSIGNED || a.getStatus() == AssignmentStatus.ACCEPTED)
+                .toList();
+    }
+
+    private User createUser(UserRole role) {
+        User user = new User();
+        user.setPhone("9" + randomDigits());
+        user.setPasswordHash("not-used");
+        user.setFullName("Concurrency Test " + role);
+        user.setRole(role);
+        User saved = userRepository.save(user);
+        users.add(saved);
+        return saved;
+    }
+
+    private String randomDigits() {
+        return String.valueOf(ThreadLocalRandom.current().nextLong(100_000_000L, 999_999_999L));
+    }
+}
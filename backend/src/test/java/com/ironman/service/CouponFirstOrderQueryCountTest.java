@@ -0,0 +1,174 @@
+package com.ironman.service;
+
+import com.ironman.dto.response.CouponValidationResponse;
+import com.ironman.model.*;
+import com.ironman.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CouponFirstOrderQueryCountTest {
+
+    private static final int PAST_ORDERS = 25;
+    private static final BigDecimal ORDER_AMOUNT = BigDecimal.valueOf(500);
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private CustomerEligibilityService eligibilityService;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Order> orders = new ArrayList<>();
+    private Statistics statistics;
+    private Address address;
+    private Coupon coupon;
+    private User newCustomer;
+    private User regularCustomer;
+    private User warmUpCustomer;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        newCustomer = createUser();
+        regularCustomer = createUser();
+        warmUpCustomer = createUser();
+
+        address = new Address();
+        address.setUser(regularCustomer);
+        address.setLabel("Home");
+        address.setAddressLine1("1 Test Street");
+        address.setCity("Pune");
+        address.setState("Maharashtra");
+        address.setPincode("411001");
+        address = addressRepository.save(address);
+
+        for (int i = 0; i < PAST_ORDERS; i++) {
+            orders.add(orderRepository.save(createOrder(regularCustomer)));
+        }
+
+        coupon = new Coupon();
+        coupon.setCode("FIRST" + randomDigits());
+        coupon.setDescription("First order test coupon");
+        coupon.setDiscountType(DiscountType.PERCENTAGE);
+        coupon.setDiscountValue(BigDecimal.TEN);
+        coupon.setValidFrom(LocalDateTime.now().minusDays(1));
+        coupon.setValidUntil(LocalDateTime.now().plusDays(30));
+        coupon.setFirstOrderOnly(true);
+        coupon = couponRepository.save(coupon);
+
+        users.forEach(user -> eligibilityService.evict(user.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        users.forEach(user -> eligibilityService.evict(user.getId()));
+        orderRepository.deleteAll(orders);
+        couponRepository.delete(coupon);
+        addressRepository.delete(address);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void firstOrderCheckCostsTheSameWithOrWithoutOrderHistory() {
+        // Load the coupon once so both measured calls see the same coupon cache state
+        validate(warmUpCustomer);
+
+        statistics.clear();
+        CouponValidationResponse forNewCustomer = validate(newCustomer);
+        long newCustomerStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        CouponValidationResponse forRegularCustomer = validate(regularCustomer);
+        long regularCustomerStatements = statistics.getPrepareStatementCount();
+
+        assertThat(forNewCustomer.getValid()).isTrue();
+        assertThat(forRegularCustomer.getValid()).isFalse();
+        assertThat(regularCustomerStatements).isEqualTo(newCustomerStatements);
+        assertThat(statistics.getEntityStatistics(Order.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void repeatedCheckUsesCachedProfile() {
+        statistics.clear();
+        validate(regularCustomer);
+        long firstStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        CouponValidationResponse repeated = validate(regularCustomer);
+        long repeatedStatements = statistics.getPrepareStatementCount();
+
+        assertThat(repeated.getValid()).isFalse();
+        assertThat(repeatedStatements).isLessThan(firstStatements);
+    }
+
+    // =============================================
+    // PRIVATE HELPERS
+    // =============================================
+
+    private CouponValidationResponse validate(User user) {
+        return couponService.validateCoupon(user.getId(), coupon.getCode(), ORDER_AMOUNT);
+    }
+
+    private Order createOrder(User customer) {
+        Order order = new Order();
+        order.setOrderNumber("TEST-" + UUID.randomUUID().toString().substring(0, 8));
+        order.setCustomer(customer);
+        order.setStatus(OrderStatus.DELIVERED);
+        order.setPickupAddress(address);
+        order.setDeliveryAddress(address);
+        order.setPickupSlot("MORNING");
+        order.setPickupDate(LocalDate.now().minusDays(7));
+        order.setExpectedDeliveryDate(LocalDate.now().minusDays(5));
+        order.setSubtotal(BigDecimal.valueOf(100));
+        order.setTotalAmount(BigDecimal.valueOf(100));
+        return order;
+    }
+
+    private User createUser() {
+        User user = new User();
+        user.setPhone("9" + randomDigits());
+        user.setPasswordHash("not-used");
+        user.setFullName("Coupon Test Customer");
+        user.setRole(UserRole.CUSTOMER);
+        User saved = userRepository.save(user);
+        users.add(saved);
+        return saved;
+    }
+
+    private String randomDigits() {
+        return String.valueOf(ThreadLocalRandom.current().nextLong(100_000_000L, 999_999_999L));
+    }
+}